@@ -0,0 +1,120 @@
+package com.capstone.core;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+// JMH benchmarks for the StudentDataManager operations. See README.md for how to run them.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class StudentDataManagerBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int population;
+
+    @Param({"OBJECTS", "COLUMNAR", "MAPPED"})
+    public StudentDataManager.StorageMode storage;
+
+    private Path dataDirectory;
+    private StudentDataManager manager;
+    private String[] lookupIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataDirectory = Files.createTempDirectory("student-bench");
+        // Non-journaled with a long window: nothing is written until checkpoint() is called
+        manager = new StudentDataManager(dataDirectory, false, TimeUnit.HOURS.toMillis(1), storage);
+
+        StudentGenerator.populate(manager, StudentGenerator.DEFAULT_SEED, population);
+        Random random = new Random(42);
+        lookupIds = new String[1024];
+        for (int i = 0; i < lookupIds.length; i++) {
+            lookupIds[i] = manager.getStudentAt(random.nextInt(population)).getreg();
+        }
+
+        // Leave a snapshot on disk for the load benchmark
+        manager.checkpoint();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        manager.close();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dataDirectory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dataDirectory);
+    }
+
+    private String nextId() {
+        next = (next + 1) & (lookupIds.length - 1);
+        return lookupIds[next];
+    }
+
+    @Benchmark
+    public Student findStudentById() {
+        return manager.findStudentById(nextId());
+    }
+
+    @Benchmark
+    public Student binarySearchById() {
+        return manager.binarySearchById(nextId());
+    }
+
+    @Benchmark
+    public Map<String, Double> calculateClassStatistics() {
+        return manager.calculateClassStatistics();
+    }
+
+    @Benchmark
+    public Student getTopPerformer() {
+        return manager.getTopPerformer();
+    }
+
+    // Sorts start from ID order each time so every invocation does the same work
+    @State(Scope.Benchmark)
+    public static class SortState {
+        @Setup(Level.Invocation)
+        public void resetOrder(StudentDataManagerBenchmark benchmark) {
+            benchmark.manager.sortById();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void quickSortByName(SortState state) {
+        manager.quickSortByName(0, manager.getStudentCount() - 1);
+    }
+
+    // Replaced bubbleSortByCGPA
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void sortByCGPA(SortState state) {
+        manager.sortByCGPA();
+    }
+
+    // Full snapshot write (what saveData used to do on every edit)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void saveData() {
+        manager.checkpoint();
+    }
+
+    // Snapshot read plus index rebuild, as done at startup
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void loadData(Blackhole blackhole) {
+        StudentDataManager loaded = new StudentDataManager(dataDirectory, false, TimeUnit.HOURS.toMillis(1), storage);
+        blackhole.consume(loaded.getStudentCount());
+        loaded.close();
+    }
+}
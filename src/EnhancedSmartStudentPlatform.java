@@ -1,6 +1,7 @@
 // Enhanced Smart Student Platform - Modern UI Implementation
 // File: EnhancedSmartStudentPlatform.java
 
+import com.capstone.core.*;
 import javax.swing.*;
 import javax.swing.table.*;
 import javax.swing.border.*;
@@ -9,188 +10,14 @@ import java.awt.event.*;
 import java.io.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
-// Abstract base class for Person
-abstract class Person {
-    protected String name;
-    protected String id;
-    
-    public Person(String name, String id) {
-        this.name = name;
-        this.id = id;
-    }
-    
-    public abstract String getDisplayInfo();
-    
-    public String getName() { return name; }
-    public String getId() { return id; }
-    public void setName(String name) { this.name = name; }
-    public void setId(String id) { this.id = id; }
-}
-
-// Interface for sortable objects
-interface Sortable {
-    int compareByName(Sortable other);
-    int compareByCGPA(Sortable other);
-    int compareById(Sortable other);
-}
-
-// Course class
-class Course {
-    private String courseCode;
-    private String courseName;
-    private int creditHours;
-    
-    public Course(String courseCode, String courseName, int creditHours) {
-        this.courseCode = courseCode;
-        this.courseName = courseName;
-        this.creditHours = creditHours;
-    }
-    
-    public String getCourseCode() { return courseCode; }
-    public String getCourseName() { return courseName; }
-    public int getCreditHours() { return creditHours; }
-    
-    @Override
-    public String toString() {
-        return courseCode + " - " + courseName + " (" + creditHours + " credits)";
-    }
-}
-
-// Result class
-class Result {
-    private Course course;
-    private double grade;
-    private String letterGrade;
-    
-    public Result(Course course, double grade) {
-        this.course = course;
-        this.grade = grade;
-        this.letterGrade = calculateLetterGrade(grade);
-    }
-    
-    private String calculateLetterGrade(double grade) {
-        if (grade >= 90) return "A";
-        else if (grade >= 80) return "B";
-        else if (grade >= 70) return "C";
-        else if (grade >= 60) return "D";
-        else return "F";
-    }
-    
-    public Course getCourse() { return course; }
-    public double getGrade() { return grade; }
-    public String getLetterGrade() { return letterGrade; }
-}
-
-// Student class
-class Student extends Person implements Sortable, Serializable {
-    private String level;
-    private String department;
-    private ArrayList<Result> results;
-    private double cgpa;
-    
-    public Student(String name, String id, String level, String department) {
-        super(name, id);
-        this.level = level;
-        this.department = department;
-        this.results = new ArrayList<>();
-        this.cgpa = 0.0;
-    }
-    
-    public void addResult(Course course, double grade) {
-        results.add(new Result(course, grade));
-        calculateCGPA();
-    }
-    
-    public void addResult(Result result) {
-        results.add(result);
-        calculateCGPA();
-    }
-    
-    private void calculateCGPA() {
-        if (results.isEmpty()) {
-            cgpa = 0.0;
-            return;
-        }
-        
-        double totalPoints = 0;
-        int totalCreditHours = 0;
+// The courses and students this demo starts with, kept in memory only
+class SampleData {
+    static StudentDataManager createDataManager() {
+        List<Course> courses = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
         
-        for (Result result : results) {
-            double gradePoints = convertToGradePoints(result.getGrade());
-            int credits = result.getCourse().getCreditHours();
-            totalPoints += gradePoints * credits;
-            totalCreditHours += credits;
-        }
-        
-        cgpa = totalCreditHours > 0 ? totalPoints / totalCreditHours : 0.0;
-    }
-    
-    private double convertToGradePoints(double grade) {
-        if (grade >= 70) return 5.0;
-        else if (grade >= 55) return 4.0;
-        else if (grade >= 40) return 3.0;
-        else if (grade >= 30) return 2.0;
-        else if (grade >= 20) return 1.0;
-        else return 0.0;
-    }
-    
-    @Override
-    public String getDisplayInfo() {
-        return String.format("ID: %s, Name: %s, CGPA: %.2f, Department: %s", 
-                           id, name, cgpa, department);
-    }
-    
-    @Override
-    public int compareByName(Sortable other) {
-        if (other instanceof Student) {
-            return this.name.compareToIgnoreCase(((Student) other).name);
-        }
-        return 0;
-    }
-    
-    @Override
-    public int compareByCGPA(Sortable other) {
-        if (other instanceof Student) {
-            return Double.compare(((Student) other).cgpa, this.cgpa);
-        }
-        return 0;
-    }
-    
-    @Override
-    public int compareById(Sortable other) {
-        if (other instanceof Student) {
-            return this.id.compareToIgnoreCase(((Student) other).id);
-        }
-        return 0;
-    }
-    
-    // Getters
-    public String getLevel() { return level; }
-    public String getDepartment() { return department; }
-    public ArrayList<Result> getResults() { return results; }
-    public double getCgpa() { return cgpa; }
-}
-
-// Custom exception
-class StudentManagementException extends Exception {
-    public StudentManagementException(String message) {
-        super(message);
-    }
-}
-
-// Data manager class (simplified for UI focus)
-class StudentDataManager {
-    private ArrayList<Student> students;
-    private ArrayList<Course> courses;
-    
-    public StudentDataManager() {
-        students = new ArrayList<>();
-        courses = new ArrayList<>();
-        initializeSampleData();
-    }
-    
-    private void initializeSampleData() {
         // Sample courses
         courses.add(new Course("MATH202", "Differential Equation", 2));
         courses.add(new Course("INS204", "System Design and Analysis", 3));
@@ -212,35 +39,11 @@ class StudentDataManager {
         Student s3 = new Student("Mike Johnson", "STU003", "400 Level", "Information Technology");
         s3.addResult(courses.get(0), 95.0);
         students.add(s3);
+        
+        StudentDataManager dataManager = StudentDataManager.inMemory(courses);
+        dataManager.addStudents(students.iterator());
+        return dataManager;
     }
-    
-    public void addStudent(Student student) throws StudentManagementException {
-        if (findStudentById(student.getId()) != null) {
-            throw new StudentManagementException("Student with ID " + student.getId() + " already exists!");
-        }
-        students.add(student);
-    }
-    
-    public Student findStudentById(String id) {
-        for (Student student : students) {
-            if (student.getId().equalsIgnoreCase(id)) {
-                return student;
-            }
-        }
-        return null;
-    }
-    
-    public boolean removeStudent(String id) {
-        Student student = findStudentById(id);
-        if (student != null) {
-            students.remove(student);
-            return true;
-        }
-        return false;
-    }
-    
-    public ArrayList<Student> getStudents() { return new ArrayList<>(students); }
-    public ArrayList<Course> getCourses() { return new ArrayList<>(courses); }
 }
 
 // Modern UI Components
@@ -342,6 +145,9 @@ public class EnhancedSmartStudentPlatform extends JFrame {
     private JComboBox<String> sortComboBox;
     private JPanel statsPanel;
     private JLabel totalStudentsLabel, avgCgpaLabel, topPerformerLabel;
+    // Bumped per statistics request, so a slower earlier one can't overwrite newer figures
+    private int statsRequest;
+    private boolean sorting;
     
     // Colors
     private final Color PRIMARY_COLOR = new Color(52, 152, 219);
@@ -352,7 +158,7 @@ public class EnhancedSmartStudentPlatform extends JFrame {
     private final Color CARD_COLOR = Color.WHITE;
     
     public EnhancedSmartStudentPlatform() {
-        dataManager = new StudentDataManager();
+        dataManager = SampleData.createDataManager();
         initializeModernGUI();
         loadStudentData();
         updateStatistics();
@@ -645,9 +451,9 @@ public class EnhancedSmartStudentPlatform extends JFrame {
                            student.getCgpa() >= 2.5 ? "Good" : "Needs Improvement";
             
             Object[] rowData = {
-                student.getId(),
+                student.getreg(),
                 student.getName(),
-                student.getLevel(),
+                student.getlevel(),
                 student.getDepartment(),
                 String.format("%.2f", student.getCgpa()),
                 status
@@ -656,35 +462,57 @@ public class EnhancedSmartStudentPlatform extends JFrame {
         }
     }
     
+    // The figures are read from the data manager's running statistics on a worker thread
+    // and put on the cards once ready. Only the latest request's figures are shown.
     private void updateStatistics() {
-        List<Student> students = dataManager.getStudents();
-        int totalStudents = students.size();
-        
+        int request = ++statsRequest;
+        new SwingWorker<StatisticsSnapshot, Void>() {
+            @Override
+            protected StatisticsSnapshot doInBackground() {
+                StatisticsSnapshot snapshot = new StatisticsSnapshot();
+                snapshot.totalStudents = dataManager.getStudentCount();
+                snapshot.avgCgpa = dataManager.calculateClassStatistics().get("average");
+                snapshot.topPerformer = dataManager.getTopPerformer();
+                return snapshot;
+            }
+            
+            @Override
+            protected void done() {
+                if (request != statsRequest) {
+                    return;
+                }
+                try {
+                    showStatistics(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    showErrorMessage("Could not update statistics: " + e.getCause().getMessage());
+                }
+            }
+        }.execute();
+    }
+    
+    private static class StatisticsSnapshot {
+        int totalStudents;
+        double avgCgpa;
+        Student topPerformer;
+    }
+    
+    private void showStatistics(StatisticsSnapshot snapshot) {
         // Update total students
         Component totalCard = ((JLabel) totalStudentsLabel).getComponent(0);
         JLabel totalValue = (JLabel) ((JPanel) totalCard).getComponent(1);
-        totalValue.setText(String.valueOf(totalStudents));
-        
-        if (totalStudents > 0) {
-            // Calculate average CGPA
-            double avgCgpa = students.stream()
-                    .mapToDouble(Student::getCgpa)
-                    .average()
-                    .orElse(0.0);
-            
+        totalValue.setText(String.valueOf(snapshot.totalStudents));
+        
+        if (snapshot.totalStudents > 0) {
             Component avgCard = ((JLabel) avgCgpaLabel).getComponent(0);
             JLabel avgValue = (JLabel) ((JPanel) avgCard).getComponent(1);
-            avgValue.setText(String.format("%.2f", avgCgpa));
-            
-            // Find top performer
-            Student topPerformer = students.stream()
-                    .max((s1, s2) -> Double.compare(s1.getCgpa(), s2.getCgpa()))
-                    .orElse(null);
+            avgValue.setText(String.format("%.2f", snapshot.avgCgpa));
             
             Component topCard = ((JLabel) topPerformerLabel).getComponent(0);
             JLabel topValue = (JLabel) ((JPanel) topCard).getComponent(1);
-            if (topPerformer != null) {
-                topValue.setText(topPerformer.getName());
+            if (snapshot.topPerformer != null) {
+                topValue.setText(snapshot.topPerformer.getName());
             }
         }
     }
@@ -806,11 +634,11 @@ public class EnhancedSmartStudentPlatform extends JFrame {
         
         JDialog dialog = createModernDialog("Update Student Information");
         
-        JTextField idField = new JTextField(student.getId(), 15);
+        JTextField idField = new JTextField(student.getreg(), 15);
         idField.setEditable(false);
         idField.setBackground(new Color(240, 240, 240));
         JTextField nameField = new JTextField(student.getName(), 15);
-        JTextField levelField = new JTextField(student.getLevel(), 15);
+        JTextField levelField = new JTextField(student.getlevel(), 15);
         JTextField departmentField = new JTextField(student.getDepartment(), 15);
         
         JPanel formPanel = new JPanel(new GridBagLayout());
@@ -841,14 +669,13 @@ public class EnhancedSmartStudentPlatform extends JFrame {
                 }
                 
                 // Create updated student with same results
-                Student updatedStudent = new Student(name, student.getId(), level, department);
+                Student updatedStudent = new Student(name, student.getreg(), level, department);
                 for (Result result : student.getResults()) {
                     updatedStudent.addResult(result);
                 }
                 
                 // Update in data manager
-                dataManager.removeStudent(student.getId());
-                dataManager.addStudent(updatedStudent);
+                dataManager.updateStudent(student.getreg(), updatedStudent);
                 
                 loadStudentData();
                 updateStatistics();
@@ -927,7 +754,7 @@ public class EnhancedSmartStudentPlatform extends JFrame {
         gbc.insets = new Insets(10, 10, 10, 10);
         
         // Student info display
-        JLabel studentInfo = new JLabel("Student: " + student.getName() + " (" + student.getId() + ")");
+        JLabel studentInfo = new JLabel("Student: " + student.getName() + " (" + student.getreg() + ")");
         studentInfo.setFont(new Font("Segoe UI", Font.BOLD, 14));
         studentInfo.setForeground(PRIMARY_COLOR);
         gbc.gridx = 0; gbc.gridy = 0; gbc.gridwidth = 2; gbc.anchor = GridBagConstraints.WEST;
@@ -966,14 +793,21 @@ public class EnhancedSmartStudentPlatform extends JFrame {
                 }
                 
                 Course selectedCourse = (Course) courseComboBox.getSelectedItem();
-                student.addResult(selectedCourse, grade);
+                // The held student may be read by other threads, so replace it with a copy
+                Student updatedStudent = new Student(student.getName(), student.getreg(),
+                    student.getlevel(), student.getDepartment());
+                for (Result result : student.getResults()) {
+                    updatedStudent.addResult(result);
+                }
+                updatedStudent.addResult(selectedCourse, grade);
+                dataManager.updateStudent(student.getreg(), updatedStudent);
                 
                 loadStudentData();
                 updateStatistics();
                 dialog.dispose();
                 
                 showSuccessMessage("Result added successfully!\nNew CGPA: " + 
-                    String.format("%.2f", student.getCgpa()));
+                    String.format("%.2f", updatedStudent.getCgpa()));
                 
             } catch (NumberFormatException ex) {
                 showErrorMessage("Please enter a valid numeric grade!");
@@ -1023,27 +857,51 @@ public class EnhancedSmartStudentPlatform extends JFrame {
     
     private void performSort() {
         String selectedSort = (String) sortComboBox.getSelectedItem();
-        List<Student> students = dataManager.getStudents();
         
-        if (students.isEmpty()) {
+        if (dataManager.getStudentCount() == 0) {
             showWarningMessage("No students to sort!");
             return;
         }
-        
-        switch (selectedSort) {
-            case "Name":
-                students.sort((s1, s2) -> s1.getName().compareToIgnoreCase(s2.getName()));
-                break;
-            case "CGPA":
-                students.sort((s1, s2) -> Double.compare(s2.getCgpa(), s1.getCgpa()));
-                break;
-            case "ID":
-                students.sort((s1, s2) -> s1.getId().compareToIgnoreCase(s2.getId()));
-                break;
+        if (sorting) {
+            showWarningMessage("A sort is already running.");
+            return;
         }
         
-        loadStudentData();
-        showSuccessMessage("Students sorted by " + selectedSort);
+        // Sort on a worker thread so the window keeps painting; the list is swapped in when done
+        sorting = true;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                switch (selectedSort) {
+                    case "Name":
+                        dataManager.sortByName(TaskProgress.NONE);
+                        break;
+                    case "CGPA":
+                        dataManager.sortByCGPA();
+                        break;
+                    case "ID":
+                        dataManager.sortById();
+                        break;
+                }
+                return null;
+            }
+            
+            @Override
+            protected void done() {
+                sorting = false;
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    get();
+                    loadStudentData();
+                    showSuccessMessage("Students sorted by " + selectedSort);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    showErrorMessage("Sort failed: " + e.getCause().getMessage());
+                }
+            }
+        }.execute();
     }
     
     private void viewStudentDetails() {
@@ -1068,9 +926,9 @@ public class EnhancedSmartStudentPlatform extends JFrame {
         gbc.insets = new Insets(5, 10, 5, 10);
         gbc.anchor = GridBagConstraints.WEST;
         
-        addInfoRow(infoPanel, gbc, "Student ID:", student.getId(), 0);
+        addInfoRow(infoPanel, gbc, "Student ID:", student.getreg(), 0);
         addInfoRow(infoPanel, gbc, "Name:", student.getName(), 1);
-        addInfoRow(infoPanel, gbc, "Level:", student.getLevel(), 2);
+        addInfoRow(infoPanel, gbc, "Level:", student.getlevel(), 2);
         addInfoRow(infoPanel, gbc, "Department:", student.getDepartment(), 3);
         addInfoRow(infoPanel, gbc, "CGPA:", String.format("%.2f", student.getCgpa()), 4);
         
@@ -1,415 +1,15 @@
 // Smart Student Platform - Complete Implementation
 // File: SmartStudentPlatform.java
 
+import com.capstone.core.*;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
 import java.util.*;
-
-//import java.util.List;
-
-// Abstract base class for Person
-abstract class Person {
-    protected String name;
-    protected String id;
-    
-    public Person(String name, String id) {
-        this.name = name;
-        this.id = id;
-    }
-    
-    // Abstract method to be implemented by subclasses
-    public abstract String getDisplayInfo();
-    
-    // Getters and setters
-    public String getName() { return name; }
-    public String getId() { return id; }
-    public void setName(String name) { this.name = name; }
-    public void setId(String id) { this.id = id; }
-}
-
-// Interface for sortable objects
-interface Sortable {
-    int compareByName(Sortable other);
-    int compareByCGPA(Sortable other);
-    int compareById(Sortable other);
-}
-
-// Course class
-class Course {
-    private String courseCode;
-    private String courseName;
-    private int creditHours;
-    
-    public Course(String courseCode, String courseName, int creditHours) {
-        this.courseCode = courseCode;
-        this.courseName = courseName;
-        this.creditHours = creditHours;
-    }
-    
-    // Getters and setters
-    public String getCourseCode() { return courseCode; }
-    public String getCourseName() { return courseName; }
-    public int getCreditHours() { return creditHours; }
-    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
-    public void setCourseName(String courseName) { this.courseName = courseName; }
-    public void setCreditHours(int creditHours) { this.creditHours = creditHours; }
-    
-    @Override
-    public String toString() {
-        return courseCode + " - " + courseName + " (" + creditHours + " credits)";
-    }
-}
-
-// Result class
-class Result {
-    private Course course;
-    private double grade;
-    private String letterGrade;
-    
-    public Result(Course course, double grade) {
-        this.course = course;
-        this.grade = grade;
-        this.letterGrade = calculateLetterGrade(grade);
-    }
-    
-    private String calculateLetterGrade(double grade) {
-        if (grade >= 90) return "A";
-        else if (grade >= 80) return "B";
-        else if (grade >= 70) return "C";
-        else if (grade >= 60) return "D";
-        else return "F";
-    }
-    
-    // Getters and setters
-    public Course getCourse() { return course; }
-    public double getGrade() { return grade; }
-    public String getLetterGrade() { return letterGrade; }
-    public void setGrade(double grade) { 
-        this.grade = grade; 
-        this.letterGrade = calculateLetterGrade(grade);
-    }
-}
-
-// Student class extending Person and implementing Sortable
-class Student extends Person implements Sortable, Serializable {
-    private String level;
-    private String department;
-    private ArrayList<Result> results;
-    private double cgpa;
-    
-    public Student(String name, String id, String level, String department) {
-        super(name, id);
-        this.level = level;
-        this.department = department;
-        this.results = new ArrayList<>();
-        this.cgpa = 0.0;
-    }
-    
-    // Method overloading - different ways to add results
-    public void addResult(Course course, double grade) {
-        results.add(new Result(course, grade));
-        calculateCGPA();
-    }
-    
-    public void addResult(Result result) {
-        results.add(result);
-        calculateCGPA();
-    }
-    
-    // Calculate CGPA based on all results
-    private void calculateCGPA() {
-        if (results.isEmpty()) {
-            cgpa = 0.0;
-            return;
-        }
-        
-        double totalPoints = 0;
-        int totalCreditHours = 0;
-        
-        for (Result result : results) {
-            double gradePoints = convertToGradePoints(result.getGrade());
-            int credits = result.getCourse().getCreditHours();
-            totalPoints += gradePoints * credits;
-            totalCreditHours += credits;
-        }
-        
-        cgpa = totalCreditHours > 0 ? totalPoints / totalCreditHours : 0.0;
-    }
-    
-    private double convertToGradePoints(double grade) {
-        if (grade >= 70) return 5.0;
-        else if (grade >= 55) return 4.0;
-        else if (grade >= 40) return 3.0;
-        else if (grade >= 30) return 2.0;
-        else if (grade >= 20) return 1.0;
-        else return 0.0;
-    }
-    
-    // Override abstract method from Person
-    @Override
-    public String getDisplayInfo() {
-        return String.format("ID: %s, Name: %s, CGPA: %.2f, Department: %s", 
-                           id, name, cgpa, department);
-    }
-    
-    // Implement Sortable interface methods
-    @Override
-    public int compareByName(Sortable other) {
-        if (other instanceof Student) {
-            return this.name.compareToIgnoreCase(((Student) other).name);
-        }
-        return 0;
-    }
-    
-    @Override
-    public int compareByCGPA(Sortable other) {
-        if (other instanceof Student) {
-            return Double.compare(((Student) other).cgpa, this.cgpa); // Descending order
-        }
-        return 0;
-    }
-    
-    @Override
-    public int compareById(Sortable other) {
-        if (other instanceof Student) {
-            return this.id.compareToIgnoreCase(((Student) other).id);
-        }
-        return 0;
-    }
-    
-    // Getters and setters
-    public String getlevel() { return level; }
-    public String getDepartment() { return department; }
-    public ArrayList<Result> getResults() { return results; }
-    public double getCgpa() { return cgpa; }
-    public void setlevel(String level) { this.level = level; }
-    public void setDepartment(String department) { this.department = department; }
-}
-
-// Custom exception for student management
-class StudentManagementException extends Exception {
-    public StudentManagementException(String message) {
-        super(message);
-    }
-}
-
-// Data manager class for handling file operations and data management
-class StudentDataManager {
-    private ArrayList<Student> students;
-    private ArrayList<Course> courses;
-    private final String DATA_FILE = "students.dat";
-    //private final String COURSES_FILE = "courses.dat";
-    
-    public StudentDataManager() {
-        students = new ArrayList<>();
-        courses = new ArrayList<>();
-        initializeSampleCourses();
-        loadData();
-    }
-    
-    private void initializeSampleCourses() {
-        courses.add(new Course("MATH202", "Differential Equation", 2));
-        courses.add(new Course("INS204", "System Deesign and Analysis", 3));
-        courses.add(new Course("COS202", "Computer Programming 2", 3));
-        courses.add(new Course("ILS204", "Information and Literacy Skills", 1));
-        courses.add(new Course("GST212", "Logic and Philosophy", 2));
-        courses.add(new Course("GET204", "Student Workshop Practice", 2));
-        courses.add(new Course("IFT212", "Computer Organization and Architecture", 2));
-        courses.add(new Course("SOE202", "Software Requirement Modeling", 2));
-        courses.add(new Course("SOE206", "Introduction to Embedded Systems", 2));
-        courses.add(new Course("ENT212", "Entreprenuership Studies", 1));
-    }
-    
-    // Add student with validation
-    public void addStudent(Student student) throws StudentManagementException {
-        // Check for duplicate ID
-        if (findStudentById(student.getId()) != null) {
-            throw new StudentManagementException("Student with ID " + student.getId() + " already exists!");
-        }
-        students.add(student);
-        saveData();
-    }
-    
-    // Update student information
-    public void updateStudent(String id, Student updatedStudent) throws StudentManagementException {
-        Student existingStudent = findStudentById(id);
-        if (existingStudent == null) {
-            throw new StudentManagementException("Student with ID " + id + " not found!");
-        }
-        
-        int index = students.indexOf(existingStudent);
-        students.set(index, updatedStudent);
-        saveData();
-    }
-    
-    // Remove student
-    public boolean removeStudent(String id) {
-        Student student = findStudentById(id);
-        if (student != null) {
-            students.remove(student);
-            saveData();
-            return true;
-        }
-        return false;
-    }
-    
-    // Linear search by ID
-    public Student findStudentById(String id) {
-        for (Student student : students) {
-            if (student.getId().equalsIgnoreCase(id)) {
-                return student;
-            }
-        }
-        return null;
-    }
-    
-    // Binary search by ID (requires sorted list)
-    public Student binarySearchById(String id) {
-        // First sort by ID
-        quickSortById(0, students.size() - 1);
-        
-        int left = 0, right = students.size() - 1;
-        
-        while (left <= right) {
-            int mid = left + (right - left) / 2;
-            int comparison = students.get(mid).getId().compareToIgnoreCase(id);
-            
-            if (comparison == 0) {
-                return students.get(mid);
-            } else if (comparison < 0) {
-                left = mid + 1;
-            } else {
-                right = mid - 1;
-            }
-        }
-        return null;
-    }
-    
-    // QuickSort implementation for sorting by name
-    public void quickSortByName(int low, int high) {
-        if (low < high) {
-            int pi = partitionByName(low, high);
-            quickSortByName(low, pi - 1);
-            quickSortByName(pi + 1, high);
-        }
-    }
-    
-    private int partitionByName(int low, int high) {
-        String pivot = students.get(high).getName();
-        int i = (low - 1);
-        
-        for (int j = low; j < high; j++) {
-            if (students.get(j).getName().compareToIgnoreCase(pivot) <= 0) {
-                i++;
-                Collections.swap(students, i, j);
-            }
-        }
-        Collections.swap(students, i + 1, high);
-        return i + 1;
-    }
-    
-    // QuickSort by ID
-    private void quickSortById(int low, int high) {
-        if (low < high) {
-            int pi = partitionById(low, high);
-            quickSortById(low, pi - 1);
-            quickSortById(pi + 1, high);
-        }
-    }
-    
-    private int partitionById(int low, int high) {
-        String pivot = students.get(high).getId();
-        int i = (low - 1);
-        
-        for (int j = low; j < high; j++) {
-            if (students.get(j).getId().compareToIgnoreCase(pivot) <= 0) {
-                i++;
-                Collections.swap(students, i, j);
-            }
-        }
-        Collections.swap(students, i + 1, high);
-        return i + 1;
-    }
-    
-    // Bubble Sort implementation for sorting by CGPA
-    public void bubbleSortByCGPA() {
-        int n = students.size();
-        for (int i = 0; i < n - 1; i++) {
-            for (int j = 0; j < n - i - 1; j++) {
-                if (students.get(j).getCgpa() < students.get(j + 1).getCgpa()) {
-                    Collections.swap(students, j, j + 1);
-                }
-            }
-        }
-    }
-    
-    // Calculate class statistics
-    public Map<String, Double> calculateClassStatistics() {
-        Map<String, Double> stats = new HashMap<>();
-        
-        if (students.isEmpty()) {
-            stats.put("average", 0.0);
-            stats.put("highest", 0.0);
-            stats.put("lowest", 0.0);
-            return stats;
-        }
-        
-        double sum = 0, highest = students.get(0).getCgpa(), lowest = students.get(0).getCgpa();
-        
-        for (Student student : students) {
-            double cgpa = student.getCgpa();
-            sum += cgpa;
-            if (cgpa > highest) highest = cgpa;
-            if (cgpa < lowest) lowest = cgpa;
-        }
-        
-        stats.put("average", sum / students.size());
-        stats.put("highest", highest);
-        stats.put("lowest", lowest);
-        
-        return stats;
-    }
-    
-    // Get top performer
-    public Student getTopPerformer() {
-        if (students.isEmpty()) return null;
-        
-        Student topStudent = students.get(0);
-        for (Student student : students) {
-            if (student.getCgpa() > topStudent.getCgpa()) {
-                topStudent = student;
-            }
-        }
-        return topStudent;
-    }
-    
-    // File operations
-    private void saveData() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(DATA_FILE))) {
-            oos.writeObject(students);
-        } catch (IOException e) {
-            System.err.println("Error saving data: " + e.getMessage());
-        }
-    }
-    
-    @SuppressWarnings("unchecked")
-    private void loadData() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(DATA_FILE))) {
-            students = (ArrayList<Student>) ois.readObject();
-        } catch (FileNotFoundException e) {
-            System.out.println("Data file not found. Starting with empty list.");
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println("Error loading data: " + e.getMessage());
-        }
-    }
-    
-    // Getters
-    public ArrayList<Student> getStudents() { return new ArrayList<>(students); }
-    public ArrayList<Course> getCourses() { return new ArrayList<>(courses); }
-}
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 // Main GUI class
 public class SmartStudentPlatform extends JFrame implements ActionListener {
@@ -419,6 +19,9 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
     private JTextField searchField;
     private JComboBox<String> sortComboBox;
     private JTextArea statsArea;
+    // Bumped per statistics request, so a slower earlier one can't overwrite newer figures
+    private int statsRequest;
+    private boolean sorting;
     
     // Menu items
     private JMenuItem addStudentItem, updateStudentItem, removeStudentItem, addResultItem;
@@ -532,7 +135,7 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         
         // Sort components
         toolPanel.add(new JLabel("Sort by:"));
-        String[] sortOptions = {"Name (Quick Sort)", "CGPA (Bubble Sort)", "ID"};
+        String[] sortOptions = {"Name (Quick Sort)", "CGPA (Merge Sort)", "ID"};
         sortComboBox = new JComboBox<>(sortOptions);
         JButton sortButton = new JButton("Sort");
         sortButton.addActionListener(this);
@@ -571,35 +174,64 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         tableModel.setRowCount(0); // Clear existing data
         
         for (Student student : dataManager.getStudents()) {
-            Object[] rowData = {
-                student.getId(),
-                student.getName(),
-                student.getlevel(),
-                student.getDepartment(),
-                String.format("%.2f", student.getCgpa())
-            };
-            tableModel.addRow(rowData);
+            tableModel.addRow(rowFor(student));
         }
     }
     
+    private static Object[] rowFor(Student student) {
+        return new Object[] {
+            student.getreg(),
+            student.getName(),
+            student.getlevel(),
+            student.getDepartment(),
+            String.format("%.2f", student.getCgpa())
+        };
+    }
+    
+    // The text is built on a worker thread and shown once ready. Only the latest
+    // request's figures are shown.
     private void updateStatistics() {
+        int request = ++statsRequest;
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                return formatStatistics();
+            }
+            
+            @Override
+            protected void done() {
+                if (request != statsRequest) {
+                    return;
+                }
+                try {
+                    statsArea.setText(get());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    statsArea.setText("Statistics unavailable: " + ex.getCause().getMessage());
+                }
+            }
+        }.execute();
+    }
+    
+    private String formatStatistics() {
         Map<String, Double> stats = dataManager.calculateClassStatistics();
         Student topPerformer = dataManager.getTopPerformer();
         
         StringBuilder sb = new StringBuilder();
         sb.append("Class Statistics:\n");
         sb.append("================\n");
-        sb.append(String.format("Total Students: %d\n", dataManager.getStudents().size()));
+        sb.append(String.format("Total Students: %d\n", dataManager.getStudentCount()));
         sb.append(String.format("Average CGPA: %.2f\n", stats.get("average")));
         sb.append(String.format("Highest CGPA: %.2f\n", stats.get("highest")));
         sb.append(String.format("Lowest CGPA: %.2f\n", stats.get("lowest")));
         
         if (topPerformer != null) {
             sb.append(String.format("Top Performer: %s (ID: %s, CGPA: %.2f)\n", 
-                     topPerformer.getName(), topPerformer.getId(), topPerformer.getCgpa()));
+                     topPerformer.getName(), topPerformer.getreg(), topPerformer.getCgpa()));
         }
         
-        statsArea.setText(sb.toString());
+        return sb.toString();
     }
     
     @Override
@@ -755,7 +387,7 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         GridBagConstraints gbc = new GridBagConstraints();
         
         // Pre-populate fields with existing data
-        JTextField idField = new JTextField(student.getId(), 15);
+        JTextField idField = new JTextField(student.getreg(), 15);
         idField.setEditable(false); // Don't allow ID changes
         JTextField nameField = new JTextField(student.getName(), 15);
         JTextField levelField = new JTextField(student.getlevel(), 15);
@@ -801,13 +433,13 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
                 }
                 
                 // Create updated student with same ID and results
-                Student updatedStudent = new Student(name, student.getId(), level, department);
+                Student updatedStudent = new Student(name, student.getreg(), level, department);
                 // Copy existing results
                 for (Result result : student.getResults()) {
                     updatedStudent.addResult(result);
                 }
                 
-                dataManager.updateStudent(student.getId(), updatedStudent);
+                dataManager.updateStudent(student.getreg(), updatedStudent);
                 loadStudentData();
                 updateStatistics();
                 dialog.dispose();
@@ -907,7 +539,7 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         gbc.gridx = 0; gbc.gridy = 0;
         dialog.add(new JLabel("Student:"), gbc);
         gbc.gridx = 1;
-        dialog.add(new JLabel(student.getName() + " (" + student.getId() + ")"), gbc);
+        dialog.add(new JLabel(student.getName() + " (" + student.getreg() + ")"), gbc);
         
         gbc.gridx = 0; gbc.gridy = 1;
         dialog.add(new JLabel("Course:"), gbc);
@@ -937,16 +569,20 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
                 }
                 
                 Course selectedCourse = (Course) courseComboBox.getSelectedItem();
-                student.addResult(selectedCourse, grade);
-                
-                // Update the student in the data manager
-                dataManager.updateStudent(student.getId(), student);
+                // The held student may be read by other threads, so replace it with a copy
+                Student updatedStudent = new Student(student.getName(), student.getreg(),
+                    student.getlevel(), student.getDepartment());
+                for (Result result : student.getResults()) {
+                    updatedStudent.addResult(result);
+                }
+                updatedStudent.addResult(selectedCourse, grade);
+                dataManager.updateStudent(student.getreg(), updatedStudent);
                 loadStudentData();
                 updateStatistics();
                 dialog.dispose();
                 
                 JOptionPane.showMessageDialog(this, 
-                    "Result added successfully!\nNew CGPA: " + String.format("%.2f", student.getCgpa()), 
+                    "Result added successfully!\nNew CGPA: " + String.format("%.2f", updatedStudent.getCgpa()), 
                     "Success", JOptionPane.INFORMATION_MESSAGE);
                 
             } catch (NumberFormatException ex) {
@@ -1041,37 +677,70 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
     
     private void performSort() {
         String selectedSort = (String) sortComboBox.getSelectedItem();
-        ArrayList<Student> students = dataManager.getStudents();
+        int studentCount = dataManager.getStudentCount();
         
-        if (students.isEmpty()) {
+        if (studentCount == 0) {
             JOptionPane.showMessageDialog(this, 
                 "No students to sort!", 
                 "Empty List", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        
-        long startTime = System.currentTimeMillis();
-        
-        switch (selectedSort) {
-            case "Name (Quick Sort)":
-                dataManager.quickSortByName(0, students.size() - 1);
-                break;
-            case "CGPA (Bubble Sort)":
-                dataManager.bubbleSortByCGPA();
-                break;
-            case "ID":
-                // Simple sort by ID using Collections.sort
-                students.sort((s1, s2) -> s1.getId().compareToIgnoreCase(s2.getId()));
-                break;
+        if (sorting) {
+            JOptionPane.showMessageDialog(this, 
+                "A sort is already running.", 
+                "Busy", JOptionPane.WARNING_MESSAGE);
+            return;
         }
         
-        long endTime = System.currentTimeMillis();
-        
-        loadStudentData();
-        
-        JOptionPane.showMessageDialog(this, 
-            "Students sorted by " + selectedSort + "\nTime taken: " + (endTime - startTime) + " ms", 
-            "Sort Complete", JOptionPane.INFORMATION_MESSAGE);
+        // The sort and the new table rows are done on a worker thread; only swapping the
+        // rows into the table model happens on the event thread
+        sorting = true;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        long startTime = System.currentTimeMillis();
+        new SwingWorker<List<Object[]>, Void>() {
+            @Override
+            protected List<Object[]> doInBackground() {
+                switch (selectedSort) {
+                    case "Name (Quick Sort)":
+                        dataManager.sortByName(TaskProgress.NONE);
+                        break;
+                    case "CGPA (Merge Sort)":
+                        dataManager.sortByCGPA();
+                        break;
+                    case "ID":
+                        dataManager.sortById();
+                        break;
+                }
+                List<Object[]> rows = new ArrayList<>(studentCount);
+                for (Student student : dataManager.getStudents()) {
+                    rows.add(rowFor(student));
+                }
+                return rows;
+            }
+            
+            @Override
+            protected void done() {
+                sorting = false;
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    List<Object[]> rows = get();
+                    tableModel.setRowCount(0);
+                    for (Object[] row : rows) {
+                        tableModel.addRow(row);
+                    }
+                    long endTime = System.currentTimeMillis();
+                    JOptionPane.showMessageDialog(SmartStudentPlatform.this, 
+                        "Students sorted by " + selectedSort + "\nTime taken: " + (endTime - startTime) + " ms", 
+                        "Sort Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    JOptionPane.showMessageDialog(SmartStudentPlatform.this, 
+                        "Sort failed: " + ex.getCause().getMessage(), 
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
     
     private void viewStudentDetails() {
@@ -1095,7 +764,7 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         gbc.gridx = 0; gbc.gridy = 0;
         infoPanel.add(new JLabel("Student ID:"), gbc);
         gbc.gridx = 1;
-        infoPanel.add(new JLabel(student.getId()), gbc);
+        infoPanel.add(new JLabel(student.getreg()), gbc);
         
         gbc.gridx = 0; gbc.gridy = 1;
         infoPanel.add(new JLabel("Name:"), gbc);
@@ -1165,7 +834,7 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
                           "Features:\n" +
                           "• Student record management (Add, Update, Remove)\n" +
                           "• Course result tracking with CGPA calculation\n" +
-                          "• Multiple sorting algorithms (QuickSort, BubbleSort)\n" +
+                          "• Multiple sorting algorithms (QuickSort, MergeSort)\n" +
                           "• Linear and Binary search functionality\n" +
                           "• Class statistics and performance analytics\n" +
                           "• Data persistence with file I/O\n" +
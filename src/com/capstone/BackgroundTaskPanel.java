@@ -0,0 +1,141 @@
+package com.capstone;
+
+import com.capstone.core.TaskProgress;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+// Runs long data operations (sorts, imports, exports) on a SwingWorker so the window
+// keeps painting, with a progress bar and a Cancel button. One task runs at a time.
+// The task is handed a TaskProgress whose updates are published to the bar and whose
+// isCancelled() reports the Cancel button; results and errors come back on the event
+// thread. Cancelling asks the task to stop rather than interrupting it, so an import
+// still gets to save the rows it has already taken.
+class BackgroundTaskPanel extends JPanel {
+    private static final int BAR_MAX = 1000;
+
+    interface Task<T> {
+        T run(TaskProgress progress) throws Exception;
+    }
+
+    private final JProgressBar progressBar = new JProgressBar(0, BAR_MAX);
+    private final JLabel statusLabel = new JLabel("Ready");
+    private final JButton cancelButton = new JButton("Cancel");
+    // Called on the event thread with each batch of progress, e.g. to refresh statistics
+    private final Runnable onProgress;
+
+    private SwingWorker<?, long[]> current;
+    private volatile boolean cancelRequested;
+
+    BackgroundTaskPanel(Runnable onProgress) {
+        super(new BorderLayout(5, 0));
+        this.onProgress = onProgress;
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> {
+            cancelRequested = true;
+            cancelButton.setEnabled(false);
+            statusLabel.setText(statusLabel.getText() + " (cancelling)");
+        });
+        add(statusLabel, BorderLayout.WEST);
+        add(progressBar, BorderLayout.CENTER);
+        add(cancelButton, BorderLayout.EAST);
+    }
+
+    boolean isBusy() {
+        return current != null;
+    }
+
+    // Start task unless another is still running (returns false). onSuccess gets the
+    // result; a task that was cancelled or threw is reported in the status line, and
+    // errors are also passed to onFailure.
+    <T> boolean start(String description, Task<T> task, Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        if (current != null) {
+            return false;
+        }
+        cancelRequested = false;
+        statusLabel.setText(description);
+        progressBar.setIndeterminate(true);
+        progressBar.setString("");
+        cancelButton.setEnabled(true);
+
+        long started = System.currentTimeMillis();
+        SwingWorker<T, long[]> worker = new SwingWorker<T, long[]>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return task.run(new TaskProgress() {
+                    @Override
+                    public void update(long done, long total) {
+                        publish(new long[] {done, total});
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return cancelRequested;
+                    }
+                });
+            }
+
+            @Override
+            protected void process(List<long[]> chunks) {
+                // Only the latest update matters; publish() has already coalesced the rest
+                long[] latest = chunks.get(chunks.size() - 1);
+                showProgress(latest[0], latest[1]);
+                if (onProgress != null) {
+                    onProgress.run();
+                }
+            }
+
+            @Override
+            protected void done() {
+                current = null;
+                cancelButton.setEnabled(false);
+                progressBar.setIndeterminate(false);
+                String elapsed = String.format(" (%.1f s)", (System.currentTimeMillis() - started) / 1000.0);
+                try {
+                    T result = get();
+                    progressBar.setValue(BAR_MAX);
+                    progressBar.setString("");
+                    statusLabel.setText(description + (cancelRequested ? " cancelled" : " done") + elapsed);
+                    onSuccess.accept(result);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    progressBar.setValue(0);
+                    progressBar.setString("");
+                    if (e.getCause() instanceof CancellationException) {
+                        statusLabel.setText(description + " cancelled" + elapsed);
+                    } else {
+                        statusLabel.setText(description + " failed");
+                        onFailure.accept(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                    }
+                }
+                if (onProgress != null) {
+                    onProgress.run();
+                }
+            }
+        };
+        current = worker;
+        worker.execute();
+        return true;
+    }
+
+    // Unknown totals, and the stretch before the first unit of work is measured, show
+    // as an indeterminate bar
+    private void showProgress(long done, long total) {
+        if (total < 0 || done <= 0) {
+            progressBar.setIndeterminate(true);
+            progressBar.setString("");
+            return;
+        }
+        progressBar.setIndeterminate(false);
+        int value = (int) Math.min(BAR_MAX, done * BAR_MAX / Math.max(total, 1));
+        progressBar.setValue(value);
+        progressBar.setString(value / 10 + "%");
+    }
+}
@@ -1,30 +0,0 @@
-package com.capstone;
-
-class Result {
-    private Course course;
-    private double grade;
-    private String letterGrade;
-    
-    public Result(Course course, double grade) {
-        this.course = course;
-        this.grade = grade;
-        this.letterGrade = calculateLetterGrade(grade);
-    }
-    
-    private String calculateLetterGrade(double grade) {
-        if (grade >= 90) return "A";
-        else if (grade >= 80) return "B";
-        else if (grade >= 70) return "C";
-        else if (grade >= 60) return "D";
-        else return "F";
-    }
-    
-    // Getters and setters
-    public Course getCourse() { return course; }
-    public double getGrade() { return grade; }
-    public String getLetterGrade() { return letterGrade; }
-    public void setGrade(double grade) { 
-        this.grade = grade; 
-        this.letterGrade = calculateLetterGrade(grade);
-    }
-}
@@ -1,27 +1,48 @@
 package com.capstone;
+
+import com.capstone.core.*;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 
 
 public class SmartStudentPlatform extends JFrame implements ActionListener {
+    private static final String ALL_FILTER = "All";
+    // Name matches shown while typing, and the pause after the last keystroke before searching
+    private static final int NAME_SEARCH_LIMIT = 200;
+    private static final int NAME_SEARCH_DELAY_MILLIS = 150;
+    
     private StudentDataManager dataManager;
     private JTable studentTable;
-    private DefaultTableModel tableModel;
+    private StudentTableModel tableModel;
     private JTextField searchField;
     private JComboBox<String> sortComboBox;
+    private JComboBox<String> departmentFilter, levelFilter;
+    private JTextField nameSearchField;
+    private javax.swing.Timer nameSearchTimer;
+    private JLabel filterCountLabel;
+    // Set while the filter lists are being refilled, so that doesn't re-run the filter
+    private boolean refreshingFilters;
     private JTextArea statsArea;
+    // Sorts, imports and exports run here, off the event thread, one at a time
+    private BackgroundTaskPanel taskPanel;
+    // Statistics are read on a worker too; a request while one is running sets statsStale
+    private SwingWorker<String, Void> statsWorker;
+    private boolean statsStale;
     
     // Menu items
     private JMenuItem addStudentItem, updateStudentItem, removeStudentItem, addResultItem;
+    private JMenuItem importStudentsItem, importResultsItem, exportTranscriptsItem;
     private JMenuItem exitItem, aboutItem;
     
     public SmartStudentPlatform() {
         dataManager = new StudentDataManager();
         initializeGUI();
-        loadStudentData();
     }
     
     private void initializeGUI() {
@@ -52,12 +73,18 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         updateStudentItem = new JMenuItem("Update Student");
         removeStudentItem = new JMenuItem("Remove Student");
         addResultItem = new JMenuItem("Add Result");
+        importStudentsItem = new JMenuItem("Import Students CSV...");
+        importResultsItem = new JMenuItem("Import Results CSV...");
+        exportTranscriptsItem = new JMenuItem("Export Transcripts...");
         exitItem = new JMenuItem("Exit");
         
         addStudentItem.addActionListener(this);
         updateStudentItem.addActionListener(this);
         removeStudentItem.addActionListener(this);
         addResultItem.addActionListener(this);
+        importStudentsItem.addActionListener(this);
+        importResultsItem.addActionListener(this);
+        exportTranscriptsItem.addActionListener(this);
         exitItem.addActionListener(this);
         
         fileMenu.add(addStudentItem);
@@ -66,6 +93,10 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         fileMenu.addSeparator();
         fileMenu.add(addResultItem);
         fileMenu.addSeparator();
+        fileMenu.add(importStudentsItem);
+        fileMenu.add(importResultsItem);
+        fileMenu.add(exportTranscriptsItem);
+        fileMenu.addSeparator();
         fileMenu.add(exitItem);
         
         // Help menu
@@ -80,14 +111,8 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
     }
     
     private void createMainPanel() {
-        // Create table model
-        String[] columnNames = {"Student Reg  Number", "Name", "level", "Department", "CGPA"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table read-only
-            }
-        };
+        // Create table model (reads rows lazily from the data manager)
+        tableModel = new StudentTableModel(dataManager);
         
         studentTable = new JTable(tableModel);
         studentTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -126,7 +151,7 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         
         // Sort components
         toolPanel.add(new JLabel("Sort by:"));
-        String[] sortOptions = {"Name (Quick Sort)", "CGPA (Bubble Sort)", "ID"};
+        String[] sortOptions = {"Name (Quick Sort)", "CGPA (Merge Sort)", "ID"};
         sortComboBox = new JComboBox<>(sortOptions);
         JButton sortButton = new JButton("Sort");
         sortButton.addActionListener(this);
@@ -139,7 +164,131 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         refreshButton.addActionListener(this);
         toolPanel.add(refreshButton);
         
-        add(toolPanel, BorderLayout.NORTH);
+        JPanel northPanel = new JPanel(new GridLayout(2, 1));
+        northPanel.add(toolPanel);
+        northPanel.add(createFilterPanel());
+        add(northPanel, BorderLayout.NORTH);
+    }
+    
+    private JPanel createFilterPanel() {
+        JPanel filterPanel = new JPanel(new FlowLayout());
+        
+        departmentFilter = new JComboBox<>(new String[] {ALL_FILTER});
+        levelFilter = new JComboBox<>(new String[] {ALL_FILTER});
+        departmentFilter.setPrototypeDisplayValue("Information Technology");
+        levelFilter.setPrototypeDisplayValue("100 Level");
+        // Departments and levels come and go with the data, so the lists are refilled each time they open
+        javax.swing.event.PopupMenuListener refillOnOpen = new javax.swing.event.PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(javax.swing.event.PopupMenuEvent e) {
+                refreshFilterChoices();
+            }
+            
+            @Override
+            public void popupMenuWillBecomeInvisible(javax.swing.event.PopupMenuEvent e) { }
+            
+            @Override
+            public void popupMenuCanceled(javax.swing.event.PopupMenuEvent e) { }
+        };
+        departmentFilter.addPopupMenuListener(refillOnOpen);
+        levelFilter.addPopupMenuListener(refillOnOpen);
+        departmentFilter.addActionListener(e -> applyFilter());
+        levelFilter.addActionListener(e -> applyFilter());
+        
+        // Search as you type, once typing pauses
+        nameSearchField = new JTextField(15);
+        nameSearchTimer = new javax.swing.Timer(NAME_SEARCH_DELAY_MILLIS, e -> applyFilter());
+        nameSearchTimer.setRepeats(false);
+        nameSearchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { nameSearchTimer.restart(); }
+            
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { nameSearchTimer.restart(); }
+            
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { nameSearchTimer.restart(); }
+        });
+        
+        JButton clearButton = new JButton("Clear Filter");
+        clearButton.addActionListener(e -> {
+            refreshingFilters = true;
+            departmentFilter.setSelectedIndex(0);
+            levelFilter.setSelectedIndex(0);
+            nameSearchField.setText("");
+            nameSearchTimer.stop();
+            refreshingFilters = false;
+            applyFilter();
+        });
+        filterCountLabel = new JLabel();
+        
+        filterPanel.add(new JLabel("Find name:"));
+        filterPanel.add(nameSearchField);
+        filterPanel.add(new JLabel("Department:"));
+        filterPanel.add(departmentFilter);
+        filterPanel.add(new JLabel("Level:"));
+        filterPanel.add(levelFilter);
+        filterPanel.add(clearButton);
+        filterPanel.add(filterCountLabel);
+        return filterPanel;
+    }
+    
+    private void refreshFilterChoices() {
+        refreshingFilters = true;
+        try {
+            refillChoices(departmentFilter, dataManager.getDepartments());
+            refillChoices(levelFilter, dataManager.getLevels());
+        } finally {
+            refreshingFilters = false;
+        }
+    }
+    
+    private static void refillChoices(JComboBox<String> comboBox, java.util.List<String> choices) {
+        Object selected = comboBox.getSelectedItem();
+        comboBox.removeAllItems();
+        comboBox.addItem(ALL_FILTER);
+        for (String choice : choices) {
+            comboBox.addItem(choice);
+        }
+        comboBox.setSelectedItem(selected);
+        if (comboBox.getSelectedIndex() < 0) {
+            comboBox.setSelectedIndex(0);
+        }
+    }
+    
+    // Narrow the table to the chosen department and level using the manager's secondary
+    // index, and to the best name matches if a name is being searched for
+    private void applyFilter() {
+        if (refreshingFilters) {
+            return;
+        }
+        String department = filterValue(departmentFilter);
+        String level = filterValue(levelFilter);
+        String name = nameSearchField.getText().trim();
+        if (!name.isEmpty()) {
+            tableModel.setView(() -> {
+                java.util.List<Student> matches = dataManager.searchByName(name, NAME_SEARCH_LIMIT);
+                matches.removeIf(student -> !inFilter(student.getDepartment(), department)
+                                         || !inFilter(student.getlevel(), level));
+                return matches;
+            });
+            filterCountLabel.setText(tableModel.getRowCount() + " matches");
+        } else if (department == null && level == null) {
+            tableModel.setView(null);
+            filterCountLabel.setText("");
+        } else {
+            tableModel.setView(() -> dataManager.filterStudents(department, level));
+            filterCountLabel.setText(tableModel.getRowCount() + " students");
+        }
+    }
+    
+    private static boolean inFilter(String value, String filter) {
+        return filter == null || (value != null && value.trim().replaceAll("\\s+", " ").equalsIgnoreCase(filter));
+    }
+    
+    private static String filterValue(JComboBox<String> comboBox) {
+        Object selected = comboBox.getSelectedItem();
+        return selected == null || ALL_FILTER.equals(selected) ? null : selected.toString();
     }
     
     private void createStatsPanel() {
@@ -155,45 +304,87 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         
         JButton updateStatsButton = new JButton("Update Statistics");
         updateStatsButton.addActionListener(this);
-        statsPanel.add(updateStatsButton, BorderLayout.SOUTH);
+        // Statistics are refreshed as a task reports progress, so an import fills them in as it goes
+        taskPanel = new BackgroundTaskPanel(this::updateStatistics);
+        JPanel southPanel = new JPanel(new BorderLayout(5, 0));
+        southPanel.add(taskPanel, BorderLayout.CENTER);
+        southPanel.add(updateStatsButton, BorderLayout.EAST);
+        statsPanel.add(southPanel, BorderLayout.SOUTH);
         
         add(statsPanel, BorderLayout.SOUTH);
         updateStatistics();
     }
     
     private void loadStudentData() {
-        tableModel.setRowCount(0); // Clear existing data
-        
-        for (Student student : dataManager.getStudents()) {
-            Object[] rowData = {
-                student.getreg(),
-                student.getName(),
-                student.getlevel(),
-                student.getDepartment(),
-                String.format("%.2f", student.getCgpa())
-            };
-            tableModel.addRow(rowData);
-        }
+        // Row changes are pushed by the data manager; this just shows everything again
+        tableModel.reload();
     }
     
+    // The figures are read on a worker thread, since they wait for the data lock while
+    // an import adds a batch. Requests made while one is running are folded into one rerun.
     private void updateStatistics() {
+        if (statsWorker != null) {
+            statsStale = true;
+            return;
+        }
+        statsWorker = new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                return formatStatistics();
+            }
+            
+            @Override
+            protected void done() {
+                statsWorker = null;
+                try {
+                    statsArea.setText(get());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    statsArea.setText("Statistics unavailable: " + ex.getCause().getMessage());
+                }
+                if (statsStale) {
+                    statsStale = false;
+                    updateStatistics();
+                }
+            }
+        };
+        statsWorker.execute();
+    }
+    
+    private String formatStatistics() {
         Map<String, Double> stats = dataManager.calculateClassStatistics();
         Student topPerformer = dataManager.getTopPerformer();
         
         StringBuilder sb = new StringBuilder();
         sb.append("Class Statistics:\n");
         sb.append("================\n");
-        sb.append(String.format("Total Students: %d\n", dataManager.getStudents().size()));
+        sb.append(String.format("Total Students: %d\n", dataManager.getStudentCount()));
         sb.append(String.format("Average CGPA: %.2f\n", stats.get("average")));
         sb.append(String.format("Highest CGPA: %.2f\n", stats.get("highest")));
         sb.append(String.format("Lowest CGPA: %.2f\n", stats.get("lowest")));
+        sb.append(String.format("Median CGPA: %.2f, 90th percentile: %.2f\n",
+                 dataManager.getCgpaPercentile(50), dataManager.getCgpaPercentile(90)));
         
         if (topPerformer != null) {
             sb.append(String.format("Top Performer: %s (ID: %s, CGPA: %.2f)\n", 
                      topPerformer.getName(), topPerformer.getreg(), topPerformer.getCgpa()));
         }
         
-        statsArea.setText(sb.toString());
+        sb.append(String.format("Persistence: %s\n", dataManager.getPersistenceStats()));
+        
+        return sb.toString();
+    }
+    
+    // Shows a message and returns false if a sort, import or export is still running
+    private boolean checkNotBusy() {
+        if (taskPanel.isBusy()) {
+            JOptionPane.showMessageDialog(this, 
+                "Please wait for the current operation to finish, or cancel it.", 
+                "Busy", JOptionPane.WARNING_MESSAGE);
+            return false;
+        }
+        return true;
     }
     
     @Override
@@ -214,6 +405,15 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
                 case "Add Result":
                     showAddResultDialog();
                     break;
+                case "Import Students CSV...":
+                    importCsv(true);
+                    break;
+                case "Import Results CSV...":
+                    importCsv(false);
+                    break;
+                case "Export Transcripts...":
+                    exportTranscripts();
+                    break;
                 case "Search":
                     performLinearSearch();
                     break;
@@ -296,7 +496,6 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
                 
                 Student student = new Student(name, id, level, department);
                 dataManager.addStudent(student);
-                loadStudentData();
                 updateStatistics();
                 dialog.dispose();
                 
@@ -397,12 +596,9 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
                 // Create updated student with same ID and results
                 Student updatedStudent = new Student(name, student.getreg(), level, department);
                 // Copy existing results
-                for (Result result : student.getResults()) {
-                    updatedStudent.addResult(result);
-                }
+                updatedStudent.addResults(student.getResults());
                 
                 dataManager.updateStudent(student.getreg(), updatedStudent);
-                loadStudentData();
                 updateStatistics();
                 dialog.dispose();
                 
@@ -449,7 +645,6 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         
         if (result == JOptionPane.YES_OPTION) {
             if (dataManager.removeStudent(studentId)) {
-                loadStudentData();
                 updateStatistics();
                 JOptionPane.showMessageDialog(this, 
                     "Student removed successfully!", 
@@ -531,16 +726,17 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
                 }
                 
                 Course selectedCourse = (Course) courseComboBox.getSelectedItem();
-                student.addResult(selectedCourse, grade);
-                
-                // Update the student in the data manager
-                dataManager.updateStudent(student.getreg(), student);
-                loadStudentData();
+                // The held student may be read by other threads, so replace it with a copy
+                Student updatedStudent = new Student(student.getName(), student.getreg(),
+                    student.getlevel(), student.getDepartment());
+                updatedStudent.addResults(student.getResults());
+                updatedStudent.addResult(selectedCourse, grade);
+                dataManager.updateStudent(student.getreg(), updatedStudent);
                 updateStatistics();
                 dialog.dispose();
                 
                 JOptionPane.showMessageDialog(this, 
-                    "Result added successfully!\nNew CGPA: " + String.format("%.2f", student.getCgpa()), 
+                    "Result added successfully!\nNew CGPA: " + String.format("%.2f", updatedStudent.getCgpa()), 
                     "Success", JOptionPane.INFORMATION_MESSAGE);
                 
             } catch (NumberFormatException ex) {
@@ -568,6 +764,72 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         dialog.setVisible(true);
     }
     
+    private void importCsv(boolean students) {
+        if (!checkNotBusy()) {
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle(students
+            ? "Import Students (reg, name, level, department)"
+            : "Import Results (reg, course code, grade)");
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV files", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        Path path = file.toPath();
+        CsvImporter importer = new CsvImporter(dataManager);
+        
+        // Rows appear in the table batch by batch as the listener events arrive
+        taskPanel.start("Importing " + file.getName(),
+            progress -> students
+                ? importer.importStudents(path, progress)
+                : importer.importResults(path, progress),
+            report -> JOptionPane.showMessageDialog(this, 
+                report.toString(), 
+                report.isCancelled() ? "Import Cancelled" : "Import Complete", 
+                report.getRejected() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE),
+            ex -> JOptionPane.showMessageDialog(this, 
+                "Could not read " + file.getName() + ": " + ex.getMessage(), 
+                "Import Failed", JOptionPane.ERROR_MESSAGE));
+    }
+    
+    private void exportTranscripts() {
+        if (!checkNotBusy()) {
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Transcripts");
+        javax.swing.filechooser.FileNameExtensionFilter csvFilter =
+            new javax.swing.filechooser.FileNameExtensionFilter("CSV, one row per result (*.csv)", "csv");
+        javax.swing.filechooser.FileNameExtensionFilter jsonFilter =
+            new javax.swing.filechooser.FileNameExtensionFilter("JSON Lines, one student per line (*.jsonl)", "jsonl");
+        chooser.addChoosableFileFilter(csvFilter);
+        chooser.addChoosableFileFilter(jsonFilter);
+        chooser.setFileFilter(csvFilter);
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        
+        TranscriptExporter.Format format = chooser.getFileFilter() == jsonFilter
+            ? TranscriptExporter.Format.JSON_LINES
+            : TranscriptExporter.Format.CSV;
+        File file = chooser.getSelectedFile();
+        if (!file.getName().contains(".")) {
+            file = new File(file.getPath() + format.getExtension());
+        }
+        
+        File target = file;
+        taskPanel.start("Exporting to " + target.getName(),
+            progress -> new TranscriptExporter(dataManager).export(target.toPath(), format, progress),
+            count -> JOptionPane.showMessageDialog(this, 
+                "Exported " + count + " transcripts to " + target, 
+                "Export Complete", JOptionPane.INFORMATION_MESSAGE),
+            ex -> JOptionPane.showMessageDialog(this, 
+                "Could not write " + target.getName() + ": " + ex.getMessage(), 
+                "Export Failed", JOptionPane.ERROR_MESSAGE));
+    }
+    
     private void performLinearSearch() {
         String searchId = searchField.getText().trim();
         if (searchId.isEmpty()) {
@@ -609,12 +871,9 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         
         Student student = dataManager.binarySearchById(searchId);
         if (student != null) {
-            // Reload data since binary search sorts the list
-            loadStudentData();
-            
             // Highlight the found student
             for (int i = 0; i < tableModel.getRowCount(); i++) {
-                if (tableModel.getValueAt(i, 0).equals(searchId)) {
+                if (tableModel.getValueAt(i, 0).equals(student.getreg())) {
                     studentTable.setRowSelectionInterval(i, i);
                     studentTable.scrollRectToVisible(studentTable.getCellRect(i, 0, true));
                     break;
@@ -622,11 +881,9 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
             }
             
             JOptionPane.showMessageDialog(this, 
-                "Student found using Binary Search:\n" + student.getDisplayInfo() + 
-                "\n\nNote: List has been sorted by ID for binary search.", 
+                "Student found using Binary Search:\n" + student.getDisplayInfo(), 
                 "Search Result", JOptionPane.INFORMATION_MESSAGE);
         } else {
-            loadStudentData(); // Reload since list was sorted
             JOptionPane.showMessageDialog(this, 
                 "Student with ID '" + searchId + "' not found.", 
                 "Search Result", JOptionPane.INFORMATION_MESSAGE);
@@ -635,37 +892,45 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
     
     private void performSort() {
         String selectedSort = (String) sortComboBox.getSelectedItem();
-        ArrayList<Student> students = dataManager.getStudents();
+        int studentCount = dataManager.getStudentCount();
         
-        if (students.isEmpty()) {
+        if (studentCount == 0) {
             JOptionPane.showMessageDialog(this, 
                 "No students to sort!", 
                 "Empty List", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        
-        long startTime = System.currentTimeMillis();
-        
-        switch (selectedSort) {
-            case "Name (Quick Sort)":
-                dataManager.quickSortByName(0, students.size() - 1);
-                break;
-            case "CGPA (Bubble Sort)":
-                dataManager.bubbleSortByCGPA();
-                break;
-            case "ID":
-                // Simple sort by ID using Collections.sort
-                students.sort((s1, s2) -> s1.getreg().compareToIgnoreCase(s2.getreg()));
-                break;
+        if (!checkNotBusy()) {
+            return;
         }
         
-        long endTime = System.currentTimeMillis();
-        
-        loadStudentData();
-        
-        JOptionPane.showMessageDialog(this, 
-            "Students sorted by " + selectedSort + "\nTime taken: " + (endTime - startTime) + " ms", 
-            "Sort Complete", JOptionPane.INFORMATION_MESSAGE);
+        // The sort works on a copy, so the table keeps painting the old order until it is swapped in.
+        // Returns the time taken, or -1 if cancelled.
+        taskPanel.start("Sorting by " + selectedSort, progress -> {
+            long startTime = System.currentTimeMillis();
+            boolean sorted = true;
+            switch (selectedSort) {
+                case "Name (Quick Sort)":
+                    sorted = dataManager.sortByName(progress);
+                    break;
+                case "CGPA (Merge Sort)":
+                    sorted = dataManager.sortByCGPA(progress);
+                    break;
+                case "ID":
+                    // Read the order straight from the sorted ID index
+                    dataManager.sortById();
+                    break;
+            }
+            return sorted ? System.currentTimeMillis() - startTime : -1L;
+        }, elapsed -> {
+            if (elapsed >= 0) {
+                JOptionPane.showMessageDialog(this, 
+                    "Students sorted by " + selectedSort + "\nTime taken: " + elapsed + " ms", 
+                    "Sort Complete", JOptionPane.INFORMATION_MESSAGE);
+            }
+        }, ex -> JOptionPane.showMessageDialog(this, 
+            "Sort failed: " + ex.getMessage(), 
+            "Error", JOptionPane.ERROR_MESSAGE));
     }
     
     private void viewStudentDetails() {
@@ -711,6 +976,11 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
         gbc.gridx = 1;
         infoPanel.add(new JLabel(String.format("%.2f", student.getCgpa())), gbc);
         
+        gbc.gridx = 0; gbc.gridy = 5;
+        infoPanel.add(new JLabel("Class Rank:"), gbc);
+        gbc.gridx = 1;
+        infoPanel.add(new JLabel(dataManager.getRank(student.getreg()) + " of " + dataManager.getStudentCount()), gbc);
+        
         dialog.add(infoPanel, BorderLayout.NORTH);
         
         // Results table
@@ -759,7 +1029,7 @@ public class SmartStudentPlatform extends JFrame implements ActionListener {
                           "Features:\n" +
                           "• Student record management (Add, Update, Remove)\n" +
                           "• Course result tracking with CGPA calculation\n" +
-                          "• Multiple sorting algorithms (QuickSort, BubbleSort)\n" +
+                          "• Multiple sorting algorithms (QuickSort, MergeSort)\n" +
                           "• Linear and Binary search functionality\n" +
                           "• Class statistics and performance analytics\n" +
                           "• Data persistence with file I/O\n" +
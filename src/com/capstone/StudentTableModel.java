@@ -0,0 +1,151 @@
+package com.capstone;
+
+import com.capstone.core.*;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Table model over the data manager's immutable student snapshots, so no student is
+// copied into a row array and only rows the JTable actually paints are touched. The
+// snapshot is replaced only when a change event is handled on the event thread, so the
+// table never sees rows added or removed by a background edit before it is told of them.
+// A view (e.g. a department filter) can narrow the rows to a query's results; the
+// query is re-run whenever the data changes.
+class StudentTableModel extends AbstractTableModel implements StudentDataListener {
+    private static final String[] COLUMN_NAMES = {"Student Reg  Number", "Name", "level", "Department", "CGPA"};
+
+    private final StudentDataManager dataManager;
+    // Every student, as of the last event handled
+    private List<Student> rows;
+    // Null when every student is shown
+    private Supplier<List<Student>> view;
+    private List<Student> viewRows;
+
+    public StudentTableModel(StudentDataManager dataManager) {
+        this.dataManager = dataManager;
+        rows = dataManager.getStudents();
+        dataManager.addDataListener(this);
+    }
+
+    // Show only the students the query returns, or everyone if it is null
+    public void setView(Supplier<List<Student>> view) {
+        this.view = view;
+        rows = dataManager.getStudents();
+        viewRows = view == null ? null : view.get();
+        fireTableDataChanged();
+    }
+
+    public boolean hasView() {
+        return view != null;
+    }
+
+    public Student getStudentAt(int row) {
+        return viewRows != null ? viewRows.get(row) : rows.get(row);
+    }
+
+    @Override
+    public int getRowCount() { return viewRows != null ? viewRows.size() : rows.size(); }
+
+    @Override
+    public int getColumnCount() { return COLUMN_NAMES.length; }
+
+    @Override
+    public String getColumnName(int column) { return COLUMN_NAMES[column]; }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // Make table read-only
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Student student = getStudentAt(row);
+        switch (column) {
+            case 0: return student.getreg();
+            case 1: return student.getName();
+            case 2: return student.getlevel();
+            case 3: return student.getDepartment();
+            case 4: return String.format("%.2f", student.getCgpa());
+            default: return null;
+        }
+    }
+
+    // Row events carry indexes into the full list, which only line up when no view is set
+
+    @Override
+    public void studentAdded(int index) {
+        onEventThread(() -> {
+            if (view != null) {
+                refreshView();
+            } else if (takeSnapshot(1, index)) {
+                fireTableRowsInserted(index, index);
+            }
+        });
+    }
+
+    @Override
+    public void studentUpdated(int index) {
+        onEventThread(() -> {
+            if (view != null) {
+                refreshView();
+            } else if (takeSnapshot(0, index)) {
+                fireTableRowsUpdated(index, index);
+            }
+        });
+    }
+
+    @Override
+    public void studentRemoved(int index) {
+        onEventThread(() -> {
+            if (view != null) {
+                refreshView();
+            } else if (takeSnapshot(-1, index)) {
+                fireTableRowsDeleted(index, index);
+            }
+        });
+    }
+
+    @Override
+    public void studentsChanged() {
+        onEventThread(this::reload);
+    }
+
+    // Show the manager's current students (or re-run the view). Event thread only.
+    public void reload() {
+        if (view != null) {
+            refreshView();
+        } else {
+            rows = dataManager.getStudents();
+            fireTableDataChanged();
+        }
+    }
+
+    // Move to the current snapshot. True if it differs from the last one by just the
+    // event being handled, so a row event describes it; otherwise later edits have
+    // landed too, the whole table has been refreshed, and false is returned.
+    private boolean takeSnapshot(int sizeChange, int index) {
+        int previousSize = rows.size();
+        rows = dataManager.getStudents();
+        if (rows.size() == previousSize + sizeChange && index < Math.max(previousSize, rows.size())) {
+            return true;
+        }
+        fireTableDataChanged();
+        return false;
+    }
+
+    private void refreshView() {
+        rows = dataManager.getStudents();
+        viewRows = view.get();
+        fireTableDataChanged();
+    }
+
+    private static void onEventThread(Runnable action) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            action.run();
+        } else {
+            SwingUtilities.invokeLater(action);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.capstone.core;
+
+// Student counts per CGPA to two decimal places (the buckets of CgpaRankIndex) and the
+// CGPA total, for stores that scan their rows instead of indexing them. Rank, average
+// and percentile come straight from the counts; the bucket thresholds tell a scan for
+// top K or a CGPA range which rows it needs.
+class CgpaHistogram {
+    private final int[] counts;
+    private int size;
+    private double sum;
+
+    CgpaHistogram() {
+        this(new int[CgpaRankIndex.BUCKETS], 0.0);
+    }
+
+    // Counts as saved by counts(); the array is used as is
+    CgpaHistogram(int[] counts, double sum) {
+        if (counts.length != CgpaRankIndex.BUCKETS) {
+            throw new IllegalArgumentException("Expected " + CgpaRankIndex.BUCKETS + " buckets, got " + counts.length);
+        }
+        this.counts = counts;
+        this.sum = sum;
+        for (int count : counts) {
+            size += count;
+        }
+    }
+
+    void add(double cgpa) {
+        counts[CgpaRankIndex.bucketOf(cgpa)]++;
+        size++;
+        sum += cgpa;
+    }
+
+    void remove(double cgpa) {
+        counts[CgpaRankIndex.bucketOf(cgpa)]--;
+        size--;
+        sum = size == 0 ? 0 : sum - cgpa;
+    }
+
+    int[] counts() {
+        return counts;
+    }
+
+    double sum() {
+        return sum;
+    }
+
+    double average() {
+        return size == 0 ? 0.0 : sum / size;
+    }
+
+    // 1 + the number of students in higher buckets
+    int rank(double cgpa) {
+        int above = 0;
+        for (int bucket = CgpaRankIndex.bucketOf(cgpa) + 1; bucket < counts.length; bucket++) {
+            above += counts[bucket];
+        }
+        return above + 1;
+    }
+
+    // Nearest rank, as CgpaRankIndex.percentile
+    double percentile(double percentile) {
+        if (size == 0) {
+            return 0.0;
+        }
+        double fraction = Math.min(Math.max(percentile, 0.0), 100.0) / 100.0;
+        int target = Math.max(1, (int) Math.ceil(fraction * size));
+        int count = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            count += counts[bucket];
+            if (count >= target) {
+                return (double) bucket / CgpaRankIndex.SCALE;
+            }
+        }
+        return (double) (counts.length - 1) / CgpaRankIndex.SCALE;
+    }
+
+    // Lowest bucket needed to make up the k best students
+    int topThreshold(int k) {
+        int threshold = counts.length - 1;
+        int count = counts[threshold];
+        while (count < k && threshold > 0) {
+            count += counts[--threshold];
+        }
+        return threshold;
+    }
+
+    // Students that a scan of buckets low..high can find
+    int countBetween(int low, int high) {
+        int count = 0;
+        for (int bucket = low; bucket <= high; bucket++) {
+            count += counts[bucket];
+        }
+        return count;
+    }
+
+    // rows[0, n) reordered highest bucket first, keeping their order within a bucket.
+    // rowBuckets[i] is the bucket of rows[i], between low and high.
+    static int[] highestBucketFirst(int[] rows, int[] rowBuckets, int n, int low, int high) {
+        int[] starts = new int[high - low + 2];
+        for (int i = 0; i < n; i++) {
+            starts[high - rowBuckets[i] + 1]++;
+        }
+        for (int i = 1; i < starts.length; i++) {
+            starts[i] += starts[i - 1];
+        }
+        int[] sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[starts[high - rowBuckets[i]]++] = rows[i];
+        }
+        return sorted;
+    }
+}
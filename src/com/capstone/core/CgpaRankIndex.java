@@ -0,0 +1,148 @@
+package com.capstone.core;
+
+import java.util.*;
+
+// Order-statistics index over CGPA for rank, top-K, range and percentile queries.
+// CGPAs are bucketed to two decimal places (the precision they are shown with), giving
+// a fixed 501 buckets for the 0.00-5.00 scale. A Fenwick tree over the bucket counts
+// answers "how many students are at or below this CGPA" in O(log buckets); each bucket
+// also keeps its students, in the order they arrived, for listing them.
+class CgpaRankIndex {
+    static final int SCALE = 100;
+    private static final double MAX_CGPA = 5.0;
+    static final int BUCKETS = (int) Math.round(MAX_CGPA * SCALE) + 1;
+
+    // Fenwick tree: tree[i] holds the count of a range of buckets ending at bucket i - 1
+    private final int[] tree = new int[BUCKETS + 1];
+    private final List<LinkedHashSet<Student>> members = new ArrayList<>(BUCKETS);
+    private final IdentityHashMap<Student, Integer> recordedBucket = new IdentityHashMap<>();
+
+    CgpaRankIndex() {
+        for (int i = 0; i < BUCKETS; i++) {
+            members.add(new LinkedHashSet<>());
+        }
+    }
+
+    public void add(Student student) {
+        int bucket = bucketOf(student.getCgpa());
+        if (recordedBucket.put(student, bucket) != null) {
+            throw new IllegalStateException("Student " + student.getreg() + " is already ranked");
+        }
+        members.get(bucket).add(student);
+        update(bucket, 1);
+    }
+
+    public void remove(Student student) {
+        Integer bucket = recordedBucket.remove(student);
+        if (bucket == null) {
+            return;
+        }
+        members.get(bucket).remove(student);
+        update(bucket, -1);
+    }
+
+    // Re-read a student's CGPA after their results changed
+    public void refresh(Student student) {
+        remove(student);
+        add(student);
+    }
+
+    public void rebuild(Collection<Student> students) {
+        Arrays.fill(tree, 0);
+        for (LinkedHashSet<Student> bucket : members) {
+            bucket.clear();
+        }
+        recordedBucket.clear();
+        for (Student student : students) {
+            add(student);
+        }
+    }
+
+    public int getCount() { return recordedBucket.size(); }
+
+    // 1 for the best CGPA; students with the same CGPA share a rank. -1 if not indexed.
+    public int rank(Student student) {
+        Integer bucket = recordedBucket.get(student);
+        if (bucket == null) {
+            return -1;
+        }
+        return recordedBucket.size() - countAtOrBelow(bucket) + 1;
+    }
+
+    // The k best students, highest CGPA first
+    public List<Student> top(int k) {
+        List<Student> result = new ArrayList<>(Math.max(0, Math.min(k, recordedBucket.size())));
+        for (int bucket = BUCKETS - 1; bucket >= 0 && result.size() < k; bucket--) {
+            for (Student student : members.get(bucket)) {
+                if (result.size() == k) {
+                    break;
+                }
+                result.add(student);
+            }
+        }
+        return result;
+    }
+
+    // Students with min <= CGPA <= max, highest first
+    public List<Student> between(double min, double max) {
+        if (min > max) {
+            return new ArrayList<>();
+        }
+        int low = bucketOf(min);
+        int high = bucketOf(max);
+        List<Student> result = new ArrayList<>(countAtOrBelow(high) - (low > 0 ? countAtOrBelow(low - 1) : 0));
+        for (int bucket = high; bucket >= low; bucket--) {
+            for (Student student : members.get(bucket)) {
+                // Only the end buckets can hold CGPAs just outside the range
+                double cgpa = student.getCgpa();
+                if (cgpa >= min && cgpa <= max) {
+                    result.add(student);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Nearest-rank percentile: the lowest CGPA that at least percentile% of students are
+    // at or below. 0 if there are no students.
+    public double percentile(double percentile) {
+        int count = recordedBucket.size();
+        if (count == 0) {
+            return 0.0;
+        }
+        double fraction = Math.min(Math.max(percentile, 0.0), 100.0) / 100.0;
+        int target = Math.max(1, (int) Math.ceil(fraction * count));
+
+        // Walk down the tree for the first bucket whose running count reaches target
+        int position = 0;
+        int remaining = target;
+        for (int step = Integer.highestOneBit(BUCKETS); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= BUCKETS && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return (double) position / SCALE;
+    }
+
+    static int bucketOf(double cgpa) {
+        long bucket = Math.round(cgpa * SCALE);
+        return (int) Math.min(Math.max(bucket, 0), BUCKETS - 1);
+    }
+
+    private void update(int bucket, int delta) {
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Students in buckets 0..bucket
+    private int countAtOrBelow(int bucket) {
+        int sum = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
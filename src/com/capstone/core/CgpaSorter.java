@@ -0,0 +1,124 @@
+package com.capstone.core;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Sorts students by CGPA, highest first (same order as Student.compareByCGPA).
+// Small lists use a sequential merge sort; lists at or above the parallel
+// threshold are split and merged with fork/join. Both paths are stable and O(N log N).
+// Progress counts students through each leaf sort and each merge, so a parallel sort
+// reports once per leaf or merge and a task that finds the sort cancelled does nothing.
+class CgpaSorter {
+    static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+    // Sub-arrays smaller than this are sorted sequentially inside a fork/join task
+    private static final int LEAF_SIZE = 2048;
+
+    private static final Comparator<Student> BY_CGPA = (s1, s2) -> s1.compareByCGPA(s2);
+
+    public static void sort(List<Student> students) {
+        sort(students, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public static void sort(List<Student> students, int parallelThreshold) {
+        sort(students, parallelThreshold, TaskProgress.NONE);
+    }
+
+    // Returns false, leaving students unchanged, if the sort was cancelled
+    public static boolean sort(List<Student> students, TaskProgress progress) {
+        return sort(students, DEFAULT_PARALLEL_THRESHOLD, progress);
+    }
+
+    public static boolean sort(List<Student> students, int parallelThreshold, TaskProgress progress) {
+        Student[] array = students.toArray(new Student[0]);
+
+        if (array.length >= parallelThreshold) {
+            SortProgress sortProgress = new SortProgress(progress, work(0, array.length));
+            ForkJoinPool.commonPool().invoke(
+                    new MergeSortTask(array, new Student[array.length], 0, array.length, sortProgress));
+            if (sortProgress.isCancelled()) {
+                return false;
+            }
+        } else {
+            Arrays.sort(array, BY_CGPA);
+            progress.update(array.length, array.length);
+        }
+
+        // Write back in place so the caller's list keeps its identity
+        ListIterator<Student> iterator = students.listIterator();
+        for (Student student : array) {
+            iterator.next();
+            iterator.set(student);
+        }
+        return true;
+    }
+
+    // Students passed through by the leaf sorts and merges of a MergeSortTask over [from, to)
+    private static long work(int from, int to) {
+        if (to - from <= LEAF_SIZE) {
+            return to - from;
+        }
+        int mid = (from + to) >>> 1;
+        return (to - from) + work(from, mid) + work(mid, to);
+    }
+
+    private static class MergeSortTask extends RecursiveAction {
+        private final Student[] array;
+        private final Student[] buffer;
+        private final int from;
+        private final int to;
+        private final SortProgress progress;
+
+        MergeSortTask(Student[] array, Student[] buffer, int from, int to, SortProgress progress) {
+            this.array = array;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (progress.isCancelled()) {
+                return;
+            }
+            if (to - from <= LEAF_SIZE) {
+                Arrays.sort(array, from, to, BY_CGPA);
+                progress.advance(to - from);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new MergeSortTask(array, buffer, from, mid, progress),
+                      new MergeSortTask(array, buffer, mid, to, progress));
+            if (progress.isCancelled()) {
+                return;
+            }
+
+            // Already in order - nothing to merge
+            if (BY_CGPA.compare(array[mid - 1], array[mid]) > 0) {
+                merge(mid);
+            }
+            progress.advance(to - from);
+        }
+
+        private void merge(int mid) {
+            System.arraycopy(array, from, buffer, from, to - from);
+            int left = from, right = mid, out = from;
+            while (left < mid && right < to) {
+                // Take from the left run on ties to keep the sort stable
+                if (BY_CGPA.compare(buffer[right], buffer[left]) < 0) {
+                    array[out++] = buffer[right++];
+                } else {
+                    array[out++] = buffer[left++];
+                }
+            }
+            while (left < mid) {
+                array[out++] = buffer[left++];
+            }
+            while (right < to) {
+                array[out++] = buffer[right++];
+            }
+        }
+    }
+}
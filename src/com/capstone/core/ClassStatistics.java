@@ -0,0 +1,68 @@
+package com.capstone.core;
+
+import java.util.*;
+
+// Running CGPA statistics for the class. Students are bucketed by the CGPA they
+// had when they were added, so min, max and the top performer stay correct when
+// someone is removed or their CGPA changes.
+class ClassStatistics {
+    private final TreeMap<Double, LinkedHashSet<Student>> byCgpa = new TreeMap<>();
+    private final IdentityHashMap<Student, Double> recordedCgpa = new IdentityHashMap<>();
+    private double sum;
+
+    public void add(Student student) {
+        double cgpa = student.getCgpa();
+        if (recordedCgpa.put(student, cgpa) != null) {
+            throw new IllegalStateException("Student " + student.getreg() + " is already counted");
+        }
+        byCgpa.computeIfAbsent(cgpa, k -> new LinkedHashSet<>()).add(student);
+        sum += cgpa;
+    }
+
+    public void remove(Student student) {
+        Double cgpa = recordedCgpa.remove(student);
+        if (cgpa == null) {
+            return;
+        }
+        LinkedHashSet<Student> bucket = byCgpa.get(cgpa);
+        bucket.remove(student);
+        if (bucket.isEmpty()) {
+            byCgpa.remove(cgpa);
+        }
+        sum = recordedCgpa.isEmpty() ? 0 : sum - cgpa;
+    }
+
+    // Re-read a student's CGPA after their results changed
+    public void refresh(Student student) {
+        remove(student);
+        add(student);
+    }
+
+    public void rebuild(Collection<Student> students) {
+        byCgpa.clear();
+        recordedCgpa.clear();
+        sum = 0;
+        for (Student student : students) {
+            add(student);
+        }
+    }
+
+    public int getCount() { return recordedCgpa.size(); }
+
+    public double getAverage() {
+        return recordedCgpa.isEmpty() ? 0.0 : sum / recordedCgpa.size();
+    }
+
+    public double getHighest() {
+        return byCgpa.isEmpty() ? 0.0 : byCgpa.lastKey();
+    }
+
+    public double getLowest() {
+        return byCgpa.isEmpty() ? 0.0 : byCgpa.firstKey();
+    }
+
+    // Earliest-added student among those with the highest CGPA
+    public Student getTopPerformer() {
+        return byCgpa.isEmpty() ? null : byCgpa.lastEntry().getValue().iterator().next();
+    }
+}
@@ -0,0 +1,976 @@
+package com.capstone.core;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Struct-of-arrays store: one primitive or String array per field instead of a Student
+// object graph per student. Department and level are int codes into a dictionary;
+// results are packed back to back in two short arrays (course code, grade in hundredths)
+// with each student's start and count; CGPA is kept as total grade points and credit
+// hours. Student objects are built on demand by get() and find() and are detached
+// copies, so changes must go back through the manager (updateStudent, addResults).
+//
+// Each student version occupies a "slot". Slots are written once: an update writes a
+// new slot and retires the old one, so snapshots and sorts working on a copy of the
+// order can keep reading the arrays they captured without copying the columns. Retired
+// slots and results are reclaimed by compaction once they outnumber the live ones.
+//
+// Queries scan the columns rather than keeping per-student index entries: statistics,
+// ranks and percentiles come from a CGPA histogram, filters compare dictionary codes,
+// and name search checks each name in turn. Students with equal CGPAs come out in slot
+// order, i.e. the order they were added or last changed in. The slots sorted by reg and
+// the highest and lowest CGPA are worked out once and then kept up to date by each edit.
+class ColumnarStudentStore implements StudentStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    // Compact once garbage outnumbers live data and is at least this much
+    private static final int MIN_GARBAGE = 4096;
+    // Grades are hundredths in a short, as in the data file; others are kept exactly aside
+    private static final short GRADE_UNPACKED = -1;
+
+    // Per slot
+    private String[] regs = new String[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    // Letters a-z in each name, so name search can skip most names without reading them
+    private int[] nameLetters = new int[INITIAL_CAPACITY];
+    // Hash of the lower-cased reg, for the reg table
+    private int[] regHashes = new int[INITIAL_CAPACITY];
+    private int[] departments = new int[INITIAL_CAPACITY];
+    private int[] levels = new int[INITIAL_CAPACITY];
+    private double[] gradePoints = new double[INITIAL_CAPACITY];
+    private int[] creditHours = new int[INITIAL_CAPACITY];
+    private int[] resultStarts = new int[INITIAL_CAPACITY];
+    private int[] resultCounts = new int[INITIAL_CAPACITY];
+    // Position of each live slot in the list order
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private final BitSet live = new BitSet();
+    private int slotCount;
+
+    // Per result, for all slots
+    private short[] resultCourses = new short[INITIAL_CAPACITY];
+    private short[] grades = new short[INITIAL_CAPACITY];
+    private ConcurrentHashMap<Integer, Double> unpackedGrades = new ConcurrentHashMap<>();
+    private int resultCount;
+    private int liveResults;
+
+    private final StringDictionary departmentDictionary = new StringDictionary();
+    private final StringDictionary levelDictionary = new StringDictionary();
+    // Live students per department and level code, for getDepartments() and getLevels()
+    private int[] departmentUse = new int[16];
+    private int[] levelUse = new int[16];
+    // CourseCatalog.codeKey -> index into courses. A code in the catalog maps to the catalog's
+    // Course (unless the first result seen for it had other credit hours), any other
+    // code to the first Course seen for it.
+    private final HashMap<String, Integer> courseCodes = new HashMap<>();
+    private Course[] courses = new Course[16];
+    private final CourseCatalog catalog;
+
+    // Slots in list order
+    private int[] order = new int[INITIAL_CAPACITY];
+    private int size;
+
+    // Open-addressing hash table over live slots by reg, storing slot + 1 (0 is empty)
+    private int[] regTable = new int[INITIAL_CAPACITY * 2];
+
+    private final CgpaHistogram histogram = new CgpaHistogram();
+
+    // Built on demand, then edited in step with the slots; readers may build them
+    // concurrently. An edit shifts the reg order along, so after REG_ORDER_EDITS edits
+    // with no range query in between (a bulk load, say) it is dropped and sorted afresh
+    // when next needed. Live slots fill regOrder[0, size); the rest is spare capacity.
+    private static final int REG_ORDER_EDITS = 64;
+    private volatile int[] regOrder;
+    private volatile boolean regOrderRead;
+    private int regOrderEdits;
+    private volatile Extremes extremes;
+
+    private static class Extremes {
+        final double highest;
+        final double lowest;
+        // Earliest-added slot with the highest CGPA, or -1
+        final int topSlot;
+
+        Extremes(double highest, double lowest, int topSlot) {
+            this.highest = highest;
+            this.lowest = lowest;
+            this.topSlot = topSlot;
+        }
+    }
+
+    // Students handed out share the catalog's Course objects
+    ColumnarStudentStore(CourseCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Student get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return columns().student(order[index]);
+    }
+
+    @Override
+    public Student find(String reg) {
+        int slot = findSlot(reg);
+        return slot < 0 ? null : columns().student(slot);
+    }
+
+    @Override
+    public int indexOf(String reg) {
+        int slot = findSlot(reg);
+        return slot < 0 ? -1 : positions[slot];
+    }
+
+    @Override
+    public void add(Student student) {
+        int slot = appendSlot(student);
+        if (size == order.length) {
+            order = Arrays.copyOf(order, size * 2);
+        }
+        order[size] = slot;
+        positions[slot] = size;
+        size++;
+        admit(slot);
+    }
+
+    @Override
+    public void set(int index, Student student) {
+        int retired = order[index];
+        retire(retired);
+        int slot = appendSlot(student);
+        order[index] = slot;
+        positions[slot] = index;
+        admit(slot);
+        maybeCompact();
+    }
+
+    @Override
+    public void remove(int index) {
+        retire(order[index]);
+        System.arraycopy(order, index + 1, order, index, size - index - 1);
+        size--;
+        for (int i = index; i < size; i++) {
+            positions[order[i]] = i;
+        }
+        maybeCompact();
+    }
+
+    @Override
+    public boolean addResults(String reg, Collection<Result> results) {
+        int slot = findSlot(reg);
+        if (slot < 0) {
+            return false;
+        }
+        Student student = columns().student(slot);
+        student.addResults(results);
+        set(positions[slot], student);
+        return true;
+    }
+
+    // Write a student into a new slot. Its reg is not in the reg table yet.
+    private int appendSlot(Student student) {
+        if (slotCount == regs.length) {
+            growSlots(slotCount * 2);
+        }
+        int slot = slotCount++;
+        regs[slot] = student.getreg();
+        names[slot] = student.getName();
+        nameLetters[slot] = NameMatcher.letterMask(student.getName());
+        regHashes[slot] = regHash(student.getreg());
+        departments[slot] = departmentDictionary.encode(student.getDepartment());
+        levels[slot] = levelDictionary.encode(student.getlevel());
+
+        List<Result> results = student.getResults();
+        if (resultCount + results.size() > grades.length) {
+            growResults(Math.max(grades.length * 2, resultCount + results.size()));
+        }
+        // Totals accumulate in the same order and way as Student does, so the CGPA matches
+        double points = 0;
+        int credits = 0;
+        resultStarts[slot] = resultCount;
+        for (Result result : results) {
+            Course course = result.getCourse();
+            resultCourses[resultCount] = (short) courseCode(course);
+            grades[resultCount] = packGrade(result.getGrade(), resultCount);
+            resultCount++;
+            points += Student.convertToGradePoints(result.getGrade()) * course.getCreditHours();
+            credits += course.getCreditHours();
+        }
+        resultCounts[slot] = results.size();
+        gradePoints[slot] = points;
+        creditHours[slot] = credits;
+        return slot;
+    }
+
+    // Count a newly written slot in the indexes and totals
+    private void admit(int slot) {
+        live.set(slot);
+        register(slot);
+        liveResults += resultCounts[slot];
+        histogram.add(cgpa(slot));
+        departmentUse = countUse(departmentUse, departments[slot], 1);
+        levelUse = countUse(levelUse, levels[slot], 1);
+        // Called after size has counted the slot, so the reg order holds size - 1
+        int[] sorted = editingRegOrder();
+        if (sorted != null) {
+            int n = size - 1;
+            if (n == sorted.length) {
+                sorted = Arrays.copyOf(sorted, Math.max(INITIAL_CAPACITY, n + n / 2));
+            }
+            int i = lowerBound(sorted, n, regs[slot]);
+            System.arraycopy(sorted, i, sorted, i + 1, n - i);
+            sorted[i] = slot;
+            regOrder = sorted;
+        }
+        // Slots are numbered in the order they were written, so a tie does not displace the top slot
+        Extremes current = extremes;
+        if (current != null) {
+            double cgpa = cgpa(slot);
+            if (current.topSlot < 0) {
+                extremes = new Extremes(cgpa, cgpa, slot);
+            } else if (cgpa > current.highest || cgpa < current.lowest) {
+                extremes = cgpa > current.highest
+                        ? new Extremes(cgpa, current.lowest, slot)
+                        : new Extremes(current.highest, cgpa, current.topSlot);
+            }
+        }
+    }
+
+    private void retire(int slot) {
+        live.clear(slot);
+        unregister(slot);
+        liveResults -= resultCounts[slot];
+        histogram.remove(cgpa(slot));
+        departmentUse[departments[slot]]--;
+        levelUse[levels[slot]]--;
+        // Called while size still counts the slot
+        int[] sorted = editingRegOrder();
+        if (sorted != null) {
+            int i = lowerBound(sorted, size, regs[slot]);
+            while (i < size && sorted[i] != slot) {
+                i++;
+            }
+            if (i < size) {
+                System.arraycopy(sorted, i + 1, sorted, i, size - i - 1);
+            } else {
+                regOrder = null;
+            }
+        }
+        // Only retiring the top slot or a slot at the lowest CGPA can change them; another
+        // slot may share that CGPA, so they are worked out again when next asked for
+        Extremes current = extremes;
+        if (current != null && (slot == current.topSlot || cgpa(slot) <= current.lowest)) {
+            extremes = null;
+        }
+    }
+
+    // The reg order if it is worth editing, or null. Called by each admit and retire.
+    private int[] editingRegOrder() {
+        if (regOrderRead) {
+            regOrderRead = false;
+            regOrderEdits = 0;
+        }
+        if (regOrder != null && ++regOrderEdits > REG_ORDER_EDITS) {
+            regOrder = null;
+        }
+        return regOrder;
+    }
+
+    static int[] countUse(int[] use, int code, int delta) {
+        if (code >= use.length) {
+            use = Arrays.copyOf(use, Math.max(use.length * 2, code + 1));
+        }
+        use[code] += delta;
+        return use;
+    }
+
+    private int courseCode(Course course) {
+        String key = CourseCatalog.codeKey(course.getCourseCode());
+        Integer code = courseCodes.get(key);
+        if (code != null) {
+            return code;
+        }
+        if (courseCodes.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct courses");
+        }
+        code = courseCodes.size();
+        if (code == courses.length) {
+            courses = Arrays.copyOf(courses, code * 2);
+        }
+        Course shared = catalog.find(course.getCourseCode());
+        courses[code] = shared != null && shared.getCreditHours() == course.getCreditHours() ? shared : course;
+        courseCodes.put(key, code);
+        return code;
+    }
+
+    private short packGrade(double grade, int position) {
+        long hundredths = Math.round(grade * 100);
+        if (hundredths >= 0 && hundredths <= Short.MAX_VALUE && hundredths / 100.0 == grade) {
+            return (short) hundredths;
+        }
+        unpackedGrades.put(position, grade);
+        return GRADE_UNPACKED;
+    }
+
+    private double cgpa(int slot) {
+        return creditHours[slot] > 0 ? gradePoints[slot] / creditHours[slot] : 0.0;
+    }
+
+    // New arrays rather than resized ones: captured Columns keep the old ones
+    private void growSlots(int capacity) {
+        regs = Arrays.copyOf(regs, capacity);
+        names = Arrays.copyOf(names, capacity);
+        nameLetters = Arrays.copyOf(nameLetters, capacity);
+        regHashes = Arrays.copyOf(regHashes, capacity);
+        departments = Arrays.copyOf(departments, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        gradePoints = Arrays.copyOf(gradePoints, capacity);
+        creditHours = Arrays.copyOf(creditHours, capacity);
+        resultStarts = Arrays.copyOf(resultStarts, capacity);
+        resultCounts = Arrays.copyOf(resultCounts, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+    }
+
+    private void growResults(int capacity) {
+        resultCourses = Arrays.copyOf(resultCourses, capacity);
+        grades = Arrays.copyOf(grades, capacity);
+    }
+
+    // Rewrite the live slots and their results into fresh arrays, keeping slot order
+    private void maybeCompact() {
+        int deadSlots = slotCount - size;
+        int deadResults = resultCount - liveResults;
+        if ((deadSlots < MIN_GARBAGE || deadSlots <= size) && (deadResults < MIN_GARBAGE || deadResults <= liveResults)) {
+            return;
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, size + size / 2);
+        int[] renumbered = new int[slotCount];
+        String[] newRegs = new String[capacity];
+        String[] newNames = new String[capacity];
+        int[] newNameLetters = new int[capacity];
+        int[] newRegHashes = new int[capacity];
+        int[] newDepartments = new int[capacity];
+        int[] newLevels = new int[capacity];
+        double[] newGradePoints = new double[capacity];
+        int[] newCreditHours = new int[capacity];
+        int[] newResultStarts = new int[capacity];
+        int[] newResultCounts = new int[capacity];
+        short[] newResultCourses = new short[Math.max(INITIAL_CAPACITY, liveResults + liveResults / 2)];
+        short[] newGrades = new short[newResultCourses.length];
+        ConcurrentHashMap<Integer, Double> newUnpackedGrades = new ConcurrentHashMap<>();
+
+        int next = 0;
+        int nextResult = 0;
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            renumbered[slot] = next;
+            newRegs[next] = regs[slot];
+            newNames[next] = names[slot];
+            newNameLetters[next] = nameLetters[slot];
+            newRegHashes[next] = regHashes[slot];
+            newDepartments[next] = departments[slot];
+            newLevels[next] = levels[slot];
+            newGradePoints[next] = gradePoints[slot];
+            newCreditHours[next] = creditHours[slot];
+            newResultStarts[next] = nextResult;
+            newResultCounts[next] = resultCounts[slot];
+            int start = resultStarts[slot];
+            for (int i = start; i < start + resultCounts[slot]; i++) {
+                newResultCourses[nextResult] = resultCourses[i];
+                newGrades[nextResult] = grades[i];
+                if (grades[i] == GRADE_UNPACKED) {
+                    newUnpackedGrades.put(nextResult, unpackedGrades.get(i));
+                }
+                nextResult++;
+            }
+            next++;
+        }
+
+        regs = newRegs;
+        names = newNames;
+        nameLetters = newNameLetters;
+        regHashes = newRegHashes;
+        departments = newDepartments;
+        levels = newLevels;
+        gradePoints = newGradePoints;
+        creditHours = newCreditHours;
+        resultStarts = newResultStarts;
+        resultCounts = newResultCounts;
+        resultCourses = newResultCourses;
+        grades = newGrades;
+        unpackedGrades = newUnpackedGrades;
+        slotCount = next;
+        resultCount = nextResult;
+        live.clear();
+        live.set(0, next);
+
+        int[] newOrder = new int[Math.max(INITIAL_CAPACITY, capacity)];
+        positions = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            newOrder[i] = renumbered[order[i]];
+            positions[newOrder[i]] = i;
+        }
+        order = newOrder;
+        rebuildRegTable(regTable.length);
+        int[] sorted = regOrder;
+        if (sorted != null) {
+            for (int i = 0; i < size; i++) {
+                sorted[i] = renumbered[sorted[i]];
+            }
+        }
+        Extremes current = extremes;
+        if (current != null && current.topSlot >= 0) {
+            extremes = new Extremes(current.highest, current.lowest, renumbered[current.topSlot]);
+        }
+    }
+
+    // Reg table: linear probing over the lower-cased reg's hash
+
+    static int regHash(String reg) {
+        return reg.toLowerCase(Locale.ROOT).hashCode();
+    }
+
+    static int home(int hash, int mask) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private int findSlot(String reg) {
+        if (reg == null) {
+            return -1;
+        }
+        String key = reg.toLowerCase(Locale.ROOT);
+        int hash = key.hashCode();
+        int mask = regTable.length - 1;
+        for (int i = home(hash, mask); ; i = (i + 1) & mask) {
+            int entry = regTable[i];
+            if (entry == 0) {
+                return -1;
+            }
+            int slot = entry - 1;
+            if (regHashes[slot] == hash && regs[slot].toLowerCase(Locale.ROOT).equals(key)) {
+                return slot;
+            }
+        }
+    }
+
+    private void register(int slot) {
+        if ((size + 1) * 2 > regTable.length) {
+            rebuildRegTable(regTable.length * 2);
+        }
+        int mask = regTable.length - 1;
+        int i = home(regHashes[slot], mask);
+        while (regTable[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        regTable[i] = slot + 1;
+    }
+
+    // Backward-shift deletion, so lookups never need tombstones
+    private void unregister(int slot) {
+        int mask = regTable.length - 1;
+        int i = home(regHashes[slot], mask);
+        while (regTable[i] != slot + 1) {
+            i = (i + 1) & mask;
+        }
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int entry = regTable[j];
+            if (entry == 0) {
+                break;
+            }
+            int home = home(regHashes[entry - 1], mask);
+            // The entry at j may fill the hole at i unless its home lies cyclically in (i, j]
+            boolean homeBetween = i <= j ? (home > i && home <= j) : (home > i || home <= j);
+            if (!homeBetween) {
+                regTable[i] = entry;
+                i = j;
+            }
+        }
+        regTable[i] = 0;
+    }
+
+    private void rebuildRegTable(int capacity) {
+        regTable = new int[capacity];
+        int mask = capacity - 1;
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            int i = home(regHashes[slot], mask);
+            while (regTable[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            regTable[i] = slot + 1;
+        }
+    }
+
+    // Snapshots and ordering
+
+    // The arrays as they are now. Slots written so far never change, so a Columns can
+    // go on building students from them after later edits.
+    private Columns columns() {
+        return new Columns(this);
+    }
+
+    private static class Columns {
+        final String[] regs;
+        final String[] names;
+        final int[] departments;
+        final int[] levels;
+        final String[] departmentNames;
+        final String[] levelNames;
+        final int[] resultStarts;
+        final int[] resultCounts;
+        final short[] resultCourses;
+        final short[] grades;
+        final Map<Integer, Double> unpackedGrades;
+        final Course[] courses;
+
+        Columns(ColumnarStudentStore store) {
+            regs = store.regs;
+            names = store.names;
+            departments = store.departments;
+            levels = store.levels;
+            departmentNames = store.departmentDictionary.values();
+            levelNames = store.levelDictionary.values();
+            resultStarts = store.resultStarts;
+            resultCounts = store.resultCounts;
+            resultCourses = store.resultCourses;
+            grades = store.grades;
+            unpackedGrades = store.unpackedGrades;
+            courses = store.courses;
+        }
+
+        Student student(int slot) {
+            Student student = new Student(names[slot], regs[slot], levelNames[levels[slot]],
+                    departmentNames[departments[slot]]);
+            int count = resultCounts[slot];
+            if (count > 0) {
+                List<Result> results = new ArrayList<>(count);
+                int start = resultStarts[slot];
+                for (int i = start; i < start + count; i++) {
+                    double grade = grades[i] == GRADE_UNPACKED ? unpackedGrades.get(i) : grades[i] / 100.0;
+                    results.add(new Result(courses[resultCourses[i]], grade));
+                }
+                student.addResults(results);
+            }
+            return student;
+        }
+    }
+
+    // Builds each student as it is read; the list itself never changes
+    private static class SnapshotList extends AbstractList<Student> implements RandomAccess {
+        private final int[] slots;
+        private final Columns columns;
+
+        SnapshotList(int[] slots, Columns columns) {
+            this.slots = slots;
+            this.columns = columns;
+        }
+
+        @Override
+        public Student get(int index) {
+            return columns.student(slots[index]);
+        }
+
+        @Override
+        public int size() {
+            return slots.length;
+        }
+    }
+
+    @Override
+    public List<Student> snapshot() {
+        return new SnapshotList(Arrays.copyOf(order, size), columns());
+    }
+
+    private static class SlotOrder implements Order {
+        final int[] slots;
+        final String[] names;
+        final double[] gradePoints;
+        final int[] creditHours;
+
+        SlotOrder(int[] slots, ColumnarStudentStore store) {
+            this.slots = slots;
+            this.names = store.names;
+            this.gradePoints = store.gradePoints;
+            this.creditHours = store.creditHours;
+        }
+
+        @Override
+        public int size() {
+            return slots.length;
+        }
+
+        @Override
+        public boolean sort(SortKey key, int from, int to, TaskProgress progress) {
+            int n = to - from;
+            if (n < 2) {
+                return true;
+            }
+            IntComparator comparator;
+            if (key == SortKey.NAME) {
+                String[] folded = new String[n];
+                for (int i = 0; i < n; i++) {
+                    folded[i] = NameSorter.foldCase(names[slots[from + i]]);
+                }
+                comparator = (a, b) -> folded[a].compareTo(folded[b]);
+            } else {
+                double[] cgpas = new double[n];
+                for (int i = 0; i < n; i++) {
+                    int slot = slots[from + i];
+                    cgpas[i] = creditHours[slot] > 0 ? gradePoints[slot] / creditHours[slot] : 0.0;
+                }
+                // Highest first
+                comparator = (a, b) -> Double.compare(cgpas[b], cgpas[a]);
+            }
+            int[] sorted = sortedPermutation(n, comparator, progress);
+            if (sorted == null) {
+                return false;
+            }
+            int[] copy = Arrays.copyOfRange(slots, from, to);
+            for (int i = 0; i < n; i++) {
+                slots[from + i] = copy[sorted[i]];
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public Order copyOrder() {
+        return new SlotOrder(Arrays.copyOf(order, size), this);
+    }
+
+    @Override
+    public void setOrder(Order newOrder) {
+        int[] slots = ((SlotOrder) newOrder).slots;
+        System.arraycopy(slots, 0, order, 0, size);
+        for (int i = 0; i < size; i++) {
+            positions[order[i]] = i;
+        }
+    }
+
+    @Override
+    public void sortById() {
+        int[] byReg = regOrder();
+        System.arraycopy(byReg, 0, order, 0, size);
+        for (int i = 0; i < size; i++) {
+            positions[order[i]] = i;
+        }
+    }
+
+    // Live slots sorted by reg, ignoring case
+    private int[] regOrder() {
+        regOrderRead = true;
+        int[] sorted = regOrder;
+        if (sorted == null) {
+            synchronized (this) {
+                sorted = regOrder;
+                if (sorted == null) {
+                    int[] slots = new int[size];
+                    int n = 0;
+                    for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                        slots[n++] = slot;
+                    }
+                    String[] keys = regs;
+                    int[] permutation = sortedPermutation(n,
+                            (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(keys[slots[a]], keys[slots[b]]));
+                    sorted = new int[Math.max(INITIAL_CAPACITY, n + n / 2)];
+                    for (int i = 0; i < n; i++) {
+                        sorted[i] = slots[permutation[i]];
+                    }
+                    regOrder = sorted;
+                }
+            }
+        }
+        return sorted;
+    }
+
+    @Override
+    public Student binarySearchById(String reg) {
+        // An exact reg is found through the hash table; the reg order is only needed for ranges
+        return find(reg);
+    }
+
+    @Override
+    public List<Student> findInIdRange(String fromReg, String toReg) {
+        int[] sorted = regOrder();
+        Columns columns = columns();
+        List<Student> result = new ArrayList<>();
+        for (int i = lowerBound(sorted, size, fromReg); i < size; i++) {
+            if (String.CASE_INSENSITIVE_ORDER.compare(regs[sorted[i]], toReg) > 0) {
+                break;
+            }
+            result.add(columns.student(sorted[i]));
+        }
+        return result;
+    }
+
+    // First position in sorted[0, n) whose reg is not below reg
+    private int lowerBound(int[] sorted, int n, String reg) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(regs[sorted[mid]], reg) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Column scans
+
+    // In list order. Department and level are compared as dictionary codes: the
+    // spellings that match are worked out once, not per student.
+    @Override
+    public List<Student> filter(String department, String level) {
+        boolean[] departmentMatches = matchingCodes(departmentDictionary, department);
+        boolean[] levelMatches = matchingCodes(levelDictionary, level);
+        Columns columns = columns();
+        List<Student> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int slot = order[i];
+            if (departmentMatches[departments[slot]] && levelMatches[levels[slot]]) {
+                result.add(columns.student(slot));
+            }
+        }
+        return result;
+    }
+
+    // Codes whose value matches the filter the way DepartmentLevelIndex matches it
+    static boolean[] matchingCodes(StringDictionary dictionary, String filter) {
+        boolean[] matches = new boolean[dictionary.size()];
+        String key = DepartmentLevelIndex.isBlank(filter) ? null : DepartmentLevelIndex.key(filter);
+        for (int code = 0; code < matches.length; code++) {
+            matches[code] = key == null
+                    || key.equals(DepartmentLevelIndex.key(DepartmentLevelIndex.nullToEmpty(dictionary.decode(code))));
+        }
+        return matches;
+    }
+
+    @Override
+    public List<String> getDepartments() {
+        return distinctNames(departmentDictionary, departmentUse);
+    }
+
+    @Override
+    public List<String> getLevels() {
+        return distinctNames(levelDictionary, levelUse);
+    }
+
+    static List<String> distinctNames(StringDictionary dictionary, int[] use) {
+        TreeMap<String, String> names = new TreeMap<>();
+        for (int code = 0; code < dictionary.size(); code++) {
+            if (code < use.length && use[code] > 0) {
+                String name = DepartmentLevelIndex.displayName(DepartmentLevelIndex.nullToEmpty(dictionary.decode(code)));
+                names.putIfAbsent(DepartmentLevelIndex.key(name), name);
+            }
+        }
+        return new ArrayList<>(names.values());
+    }
+
+    // Same matching rules as NameSearchIndex, checked against each name in list order.
+    // Results are ranked by how closely the words match (exact, then prefix, then typo
+    // distance), in list order within a rank. The scan stops early once limit exact
+    // matches are found.
+    @Override
+    public List<Student> searchByName(String query, int limit) {
+        List<String> tokens = NameSearchIndex.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        NameMatcher matcher = new NameMatcher(tokens);
+        NameMatcher.Ranking ranking = matcher.ranking(limit);
+        for (int i = 0; i < size && !ranking.isSettled(); i++) {
+            int slot = order[i];
+            if (matcher.mayMatch(nameLetters[slot])) {
+                ranking.add(slot, matcher.score(names[slot]));
+            }
+        }
+
+        Columns columns = columns();
+        List<Student> results = new ArrayList<>();
+        for (int slot : ranking.rows()) {
+            results.add(columns.student(slot));
+        }
+        return results;
+    }
+
+    // Statistics, from the histogram where it is enough and a scan where it is not
+
+    @Override
+    public double getAverage() {
+        return histogram.average();
+    }
+
+    @Override
+    public double getHighest() {
+        return extremes().highest;
+    }
+
+    @Override
+    public double getLowest() {
+        return extremes().lowest;
+    }
+
+    @Override
+    public Student getTopPerformer() {
+        int slot = extremes().topSlot;
+        return slot < 0 ? null : columns().student(slot);
+    }
+
+    private Extremes extremes() {
+        Extremes current = extremes;
+        if (current == null) {
+            double highest = 0.0;
+            double lowest = 0.0;
+            int topSlot = -1;
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                double cgpa = cgpa(slot);
+                if (topSlot < 0) {
+                    lowest = cgpa;
+                }
+                if (topSlot < 0 || cgpa > highest) {
+                    highest = cgpa;
+                    topSlot = slot;
+                }
+                lowest = Math.min(lowest, cgpa);
+            }
+            current = new Extremes(highest, lowest, topSlot);
+            extremes = current;
+        }
+        return current;
+    }
+
+    @Override
+    public int rank(String reg) {
+        int slot = findSlot(reg);
+        if (slot < 0) {
+            return -1;
+        }
+        return histogram.rank(cgpa(slot));
+    }
+
+    // Highest CGPA first; students in the same bucket in the order they were added
+    @Override
+    public List<Student> top(int k) {
+        if (k <= 0 || size == 0) {
+            return new ArrayList<>();
+        }
+        return inBuckets(histogram.topThreshold(k), CgpaRankIndex.BUCKETS - 1, 0, Double.MAX_VALUE, k);
+    }
+
+    @Override
+    public List<Student> between(double minCgpa, double maxCgpa) {
+        if (minCgpa > maxCgpa) {
+            return new ArrayList<>();
+        }
+        return inBuckets(CgpaRankIndex.bucketOf(minCgpa), CgpaRankIndex.bucketOf(maxCgpa), minCgpa, maxCgpa, Integer.MAX_VALUE);
+    }
+
+    // Up to limit students in buckets low..high with minCgpa <= CGPA <= maxCgpa, highest
+    // bucket first. One pass over the slots, then a counting sort by bucket.
+    private List<Student> inBuckets(int low, int high, double minCgpa, double maxCgpa, int limit) {
+        int candidates = histogram.countBetween(low, high);
+        int[] slots = new int[candidates];
+        int[] slotBuckets = new int[candidates];
+        int n = 0;
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            double cgpa = cgpa(slot);
+            int bucket = CgpaRankIndex.bucketOf(cgpa);
+            if (bucket >= low && bucket <= high && cgpa >= minCgpa && cgpa <= maxCgpa) {
+                slots[n] = slot;
+                slotBuckets[n] = bucket;
+                n++;
+            }
+        }
+
+        int[] sorted = CgpaHistogram.highestBucketFirst(slots, slotBuckets, n, low, high);
+        Columns columns = columns();
+        List<Student> result = new ArrayList<>(Math.min(n, limit));
+        for (int i = 0; i < n && i < limit; i++) {
+            result.add(columns.student(sorted[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public double percentile(double percentile) {
+        return histogram.percentile(percentile);
+    }
+
+    // Stable merge sort of 0..n-1 by the comparator, for sorting slots by a column.
+    // Progress counts the items placed by the insertion-sorted runs and by each merge
+    // pass; returns null if the sort was cancelled.
+
+    interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    private static final int INSERTION_THRESHOLD = 16;
+
+    static int[] sortedPermutation(int n, IntComparator comparator) {
+        return sortedPermutation(n, comparator, TaskProgress.NONE);
+    }
+
+    static int[] sortedPermutation(int n, IntComparator comparator, TaskProgress taskProgress) {
+        int passes = 1;
+        for (long width = INSERTION_THRESHOLD; width < n; width *= 2) {
+            passes++;
+        }
+        SortProgress progress = new SortProgress(taskProgress, (long) n * passes);
+        int[] items = new int[n];
+        for (int i = 0; i < n; i++) {
+            items[i] = i;
+        }
+        for (int start = 0; start < n; start += INSERTION_THRESHOLD) {
+            int end = Math.min(start + INSERTION_THRESHOLD, n);
+            for (int i = start + 1; i < end; i++) {
+                int item = items[i];
+                int j = i - 1;
+                while (j >= start && comparator.compare(items[j], item) > 0) {
+                    items[j + 1] = items[j];
+                    j--;
+                }
+                items[j + 1] = item;
+            }
+            progress.advance(end - start);
+            if (progress.isCancelled()) {
+                return null;
+            }
+        }
+        int[] buffer = new int[n];
+        for (int width = INSERTION_THRESHOLD; width < n; width *= 2) {
+            for (int start = 0; start < n; start += 2 * width) {
+                int middle = Math.min(start + width, n);
+                int end = Math.min(start + 2 * width, n);
+                int left = start;
+                int right = middle;
+                int out = start;
+                while (left < middle && right < end) {
+                    buffer[out++] = comparator.compare(items[right], items[left]) < 0 ? items[right++] : items[left++];
+                }
+                while (left < middle) {
+                    buffer[out++] = items[left++];
+                }
+                while (right < end) {
+                    buffer[out++] = items[right++];
+                }
+                progress.advance(end - start);
+                if (progress.isCancelled()) {
+                    return null;
+                }
+            }
+            int[] swap = items;
+            items = buffer;
+            buffer = swap;
+        }
+        return items;
+    }
+}
@@ -1,6 +1,8 @@
-package com.capstone;
+package com.capstone.core;
 
-public class Course {
+import java.io.Serializable;
+
+public class Course implements Serializable {
   private String courseCode;
   private String courseName;
   private int creditHours;
@@ -0,0 +1,134 @@
+package com.capstone.core;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// The courses results are recorded against, one Course object per course. Every Result
+// for a catalog course points at that object, so a course's name and credit hours are
+// held once however many transcripts include it, and editing the catalog entry changes
+// them for every result at once. Courses are numbered in the order they were added and
+// found by code in O(1), ignoring case and surrounding spaces. Anything else that looks
+// courses up by code keys them with codeKey(), so a code matches the same course everywhere.
+//
+// Saved as courses.dat: magic, format version, revision, then each course's code, name
+// and credit hours. The revision counts edits, so a copy of the course list can be
+// checked against the catalog it came from.
+class CourseCatalog {
+    private static final int MAGIC = 0x53534343; // "SSCC"
+    private static final short VERSION = 1;
+
+    private final ArrayList<Course> courses = new ArrayList<>();
+    // Upper-cased code -> position in courses
+    private final HashMap<String, Integer> ids = new HashMap<>();
+    private long revision;
+
+    // Of courses sharing a code, the first is kept
+    CourseCatalog(Collection<Course> courses) {
+        for (Course course : courses) {
+            if (find(course.getCourseCode()) == null) {
+                add(course);
+            }
+        }
+        revision = 0;
+    }
+
+    int size() {
+        return courses.size();
+    }
+
+    Course get(int id) {
+        return courses.get(id);
+    }
+
+    // The catalog's Course with this code, or null
+    Course find(String code) {
+        Integer id = code == null ? null : ids.get(codeKey(code));
+        return id == null ? null : courses.get(id);
+    }
+
+    ArrayList<Course> getCourses() {
+        return new ArrayList<>(courses);
+    }
+
+    long getRevision() {
+        return revision;
+    }
+
+    // Caller checks the code is not taken
+    void add(Course course) {
+        ids.put(codeKey(course.getCourseCode()), courses.size());
+        courses.add(course);
+        revision++;
+    }
+
+    // Edit a course in place, so every result holding it sees the change
+    void update(Course course, String name, int creditHours) {
+        course.setCourseName(name);
+        course.setCreditHours(creditHours);
+        revision++;
+    }
+
+    // The form course codes are compared in
+    static String codeKey(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // courses keyed by codeKey(); of courses sharing a code, the first is kept
+    static Map<String, Course> byCode(Collection<Course> courses) {
+        Map<String, Course> byCode = new HashMap<>();
+        for (Course course : courses) {
+            byCode.putIfAbsent(codeKey(course.getCourseCode()), course);
+        }
+        return byCode;
+    }
+
+    // The catalog as courses.dat holds it. Encoded under the caller's lock and written
+    // out later, like a journal record.
+    byte[] encode() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + 48 * courses.size());
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(revision);
+        out.writeInt(courses.size());
+        for (Course course : courses) {
+            out.writeUTF(course.getCourseCode());
+            out.writeUTF(course.getCourseName());
+            out.writeShort(course.getCreditHours());
+        }
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    static CourseCatalog read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a course catalog file: " + file);
+            }
+            short version = in.readShort();
+            if (version > VERSION) {
+                throw new IOException("Unsupported course catalog version " + version);
+            }
+            long revision = in.readLong();
+            int count = in.readInt();
+            // Each course takes at least two length prefixes and its credits
+            if (count < 0 || (long) count * 6 > Files.size(file)) {
+                throw new IOException("Bad course count " + count + " in " + file);
+            }
+            List<Course> courses = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String code = in.readUTF();
+                String name = in.readUTF();
+                int creditHours = in.readUnsignedShort();
+                courses.add(new Course(code, name, creditHours));
+            }
+            CourseCatalog catalog = new CourseCatalog(courses);
+            catalog.revision = revision;
+            return catalog;
+        } catch (EOFException e) {
+            throw new IOException("Course catalog file is truncated: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.capstone.core;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// Bulk import of students and results from CSV files, streamed row by row:
+//
+//   students: reg,name,level,department
+//   results:  reg,course code,grade
+//
+// A header row is skipped if the first column starts with "reg". Valid rows are added
+// to the data manager in batches and written to disk once at the end. Rejected rows go
+// to <file>.rejected.csv with their line number and the reason.
+//
+// Progress is reported in bytes of the file read. A cancelled import stops after the
+// current batch; rows already imported are kept and the report is marked cancelled.
+//
+// Usage: java com.capstone.core.CsvImporter students|results <csv file> [data directory]
+public class CsvImporter {
+    static final int BATCH_SIZE = 10_000;
+    // Rows between progress reports and cancellation checks
+    private static final int PROGRESS_INTERVAL = 1_000;
+
+    private static final String[] STUDENT_COLUMNS = {"reg", "name", "level", "department"};
+    private static final String[] RESULT_COLUMNS = {"reg", "course", "grade"};
+
+    private final StudentDataManager dataManager;
+
+    public CsvImporter(StudentDataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
+    public ImportReport importStudents(Path csv) throws IOException {
+        return importStudents(csv, TaskProgress.NONE);
+    }
+
+    public ImportReport importStudents(Path csv, TaskProgress progress) throws IOException {
+        List<Student> batch = new ArrayList<>();
+        // Lower-cased regs in the current batch, to catch duplicates within the file
+        Set<String> batchRegs = new HashSet<>();
+
+        return run(csv, STUDENT_COLUMNS, progress, new RowHandler() {
+            @Override
+            public String accept(String[] row) {
+                String reg = row[0].trim();
+                if (dataManager.findStudentById(reg) != null || !batchRegs.add(reg.toLowerCase(Locale.ROOT))) {
+                    return "duplicate reg number " + reg;
+                }
+                batch.add(new Student(row[1].trim(), reg, row[2].trim(), row[3].trim()));
+                return null;
+            }
+
+            @Override
+            public int flushBatch() {
+                int added = dataManager.addStudents(batch.iterator());
+                batch.clear();
+                batchRegs.clear();
+                return added;
+            }
+        });
+    }
+
+    public ImportReport importResults(Path csv) throws IOException {
+        return importResults(csv, TaskProgress.NONE);
+    }
+
+    public ImportReport importResults(Path csv, TaskProgress progress) throws IOException {
+        Map<String, Course> catalog = CourseCatalog.byCode(dataManager.getCourses());
+        // Results waiting to be added, keyed by the student's reg as stored
+        Map<String, List<Result>> batch = new HashMap<>();
+
+        return run(csv, RESULT_COLUMNS, progress, new RowHandler() {
+            private int pending;
+
+            @Override
+            public String accept(String[] row) {
+                Student student = dataManager.findStudentById(row[0].trim());
+                if (student == null) {
+                    return "unknown student " + row[0].trim();
+                }
+                Course course = catalog.get(CourseCatalog.codeKey(row[1]));
+                if (course == null) {
+                    return "unknown course " + row[1].trim();
+                }
+                double grade;
+                try {
+                    grade = Double.parseDouble(row[2].trim());
+                } catch (NumberFormatException e) {
+                    return "grade is not a number: " + row[2].trim();
+                }
+                if (!(grade >= 0 && grade <= 100)) {
+                    return "grade must be between 0 and 100: " + row[2].trim();
+                }
+
+                List<Result> queued = batch.computeIfAbsent(student.getreg(), k -> new ArrayList<>());
+                if (hasCourse(student.getResults(), course) || hasCourse(queued, course)) {
+                    return student.getreg() + " already has a result for " + course.getCourseCode();
+                }
+                queued.add(new Result(course, grade));
+                pending++;
+                return null;
+            }
+
+            @Override
+            public int flushBatch() {
+                int added = dataManager.addResults(batch);
+                batch.clear();
+                pending = 0;
+                return added;
+            }
+
+            @Override
+            public boolean batchFull() {
+                return pending >= BATCH_SIZE;
+            }
+        });
+    }
+
+    private static boolean hasCourse(List<Result> results, Course course) {
+        for (Result result : results) {
+            if (result.getCourse().getCourseCode().equalsIgnoreCase(course.getCourseCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private interface RowHandler {
+        // Queue a row with the expected number of non-empty columns; returns the reason
+        // it was rejected, or null
+        String accept(String[] row);
+
+        // Add the queued rows to the data manager; returns how many were added
+        int flushBatch();
+
+        default boolean batchFull() {
+            return false;
+        }
+    }
+
+    private ImportReport run(Path csv, String[] columns, TaskProgress progress, RowHandler handler) throws IOException {
+        long start = System.nanoTime();
+        Path rejectedFile = rejectedFileFor(csv);
+        long fileSize = Files.size(csv);
+        long rowsRead = 0;
+        long queued = 0;
+        long imported = 0;
+        long rejected = 0;
+        boolean cancelled = false;
+
+        dataManager.suspendWrites();
+        CountingInputStream input = new CountingInputStream(Files.newInputStream(csv));
+        try (CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+             RejectWriter rejects = new RejectWriter(rejectedFile, columns)) {
+            progress.update(0, fileSize);
+            String[] row;
+            boolean firstRow = true;
+            while ((row = reader.next()) != null) {
+                if (rowsRead % PROGRESS_INTERVAL == 0 && rowsRead > 0) {
+                    // Bytes handed to the reader's buffer, so slightly ahead of the rows parsed
+                    progress.update(input.getCount(), fileSize);
+                    if (progress.isCancelled()) {
+                        cancelled = true;
+                        break;
+                    }
+                }
+                if (firstRow) {
+                    firstRow = false;
+                    if (row[0].trim().toLowerCase(Locale.ROOT).startsWith("reg")) {
+                        continue;
+                    }
+                }
+                rowsRead++;
+
+                String reason = validateShape(row, columns);
+                if (reason == null) {
+                    reason = handler.accept(row);
+                }
+                if (reason != null) {
+                    rejects.write(reader.getRecordLine(), reason, row);
+                    rejected++;
+                    continue;
+                }
+
+                if (++queued % BATCH_SIZE == 0 || handler.batchFull()) {
+                    imported += handler.flushBatch();
+                }
+            }
+            imported += handler.flushBatch();
+        } finally {
+            dataManager.resumeWrites();
+        }
+        dataManager.flush();
+        if (!cancelled) {
+            progress.update(fileSize, fileSize);
+        }
+
+        return new ImportReport(rowsRead, imported, rejected, System.nanoTime() - start,
+                rejected > 0 ? rejectedFile : null, cancelled);
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    private static String validateShape(String[] row, String[] columns) {
+        if (row.length != columns.length) {
+            return "expected " + columns.length + " columns, found " + row.length;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (row[i].trim().isEmpty()) {
+                return "missing " + columns[i];
+            }
+        }
+        return null;
+    }
+
+    static Path rejectedFileFor(Path csv) {
+        String name = csv.getFileName().toString();
+        if (name.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            name = name.substring(0, name.length() - 4);
+        }
+        return csv.resolveSibling(name + ".rejected.csv");
+    }
+
+    // Creates the rejected-rows file on the first rejection; a stale one from an earlier
+    // import of the same file is removed
+    private static class RejectWriter implements Closeable {
+        private final Path file;
+        private final String[] columns;
+        private BufferedWriter out;
+
+        RejectWriter(Path file, String[] columns) throws IOException {
+            this.file = file;
+            this.columns = columns;
+            Files.deleteIfExists(file);
+        }
+
+        void write(long line, String reason, String[] row) throws IOException {
+            if (out == null) {
+                out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                out.write("line,reason," + String.join(",", columns));
+                out.newLine();
+            }
+            out.write(Long.toString(line));
+            out.write(',');
+            out.write(CsvReader.escape(reason));
+            for (String field : row) {
+                out.write(',');
+                out.write(CsvReader.escape(field));
+            }
+            out.newLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+
+    public static class ImportReport {
+        private final long rowsRead;
+        private final long imported;
+        private final long rejected;
+        private final long elapsedNanos;
+        private final Path rejectedFile;
+        private final boolean cancelled;
+
+        ImportReport(long rowsRead, long imported, long rejected, long elapsedNanos, Path rejectedFile,
+                     boolean cancelled) {
+            this.rowsRead = rowsRead;
+            this.imported = imported;
+            this.rejected = rejected;
+            this.elapsedNanos = elapsedNanos;
+            this.rejectedFile = rejectedFile;
+            this.cancelled = cancelled;
+        }
+
+        public long getRowsRead() { return rowsRead; }
+        public long getImported() { return imported; }
+        public long getRejected() { return rejected; }
+        public double getElapsedSeconds() { return elapsedNanos / 1e9; }
+        public double getRowsPerSecond() { return rowsRead / Math.max(getElapsedSeconds(), 1e-9); }
+        // Null if every row was accepted
+        public Path getRejectedFile() { return rejectedFile; }
+        // True if the import was stopped before the end of the file
+        public boolean isCancelled() { return cancelled; }
+
+        @Override
+        public String toString() {
+            String summary = String.format("Imported %d of %d rows (%d rejected) in %.2f s, %.0f rows/s",
+                    imported, rowsRead, rejected, getElapsedSeconds(), getRowsPerSecond());
+            if (cancelled) {
+                summary = "Cancelled. " + summary;
+            }
+            return rejectedFile == null ? summary : summary + "\nRejected rows written to " + rejectedFile;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !(args[0].equals("students") || args[0].equals("results"))) {
+            System.err.println("Usage: java com.capstone.core.CsvImporter students|results <csv file> [data directory]");
+            System.exit(1);
+        }
+        Path csv = Paths.get(args[1]);
+        Path directory = Paths.get(args.length > 2 ? args[2] : "");
+        if (args.length > 2) {
+            Files.createDirectories(directory);
+        }
+        StudentDataManager dataManager = new StudentDataManager(directory, true, 200);
+        try {
+            CsvImporter importer = new CsvImporter(dataManager);
+            ImportReport report = args[0].equals("students")
+                    ? importer.importStudents(csv)
+                    : importer.importResults(csv);
+            System.out.println(report);
+        } finally {
+            dataManager.close();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.capstone.core;
+
+import java.util.*;
+
+// Secondary index from department and level to the students in them, so a filtered
+// view costs time proportional to the number of matches rather than a scan of every
+// student. Names are matched ignoring case and surrounding spaces. Like ClassStatistics,
+// each student's bucket is remembered, so a student edited in place is still removed
+// from the bucket it was filed under.
+class DepartmentLevelIndex {
+    // department key -> level key -> bucket, both levels of map in key order
+    private final TreeMap<String, TreeMap<String, Bucket>> buckets = new TreeMap<>();
+    private final IdentityHashMap<Student, Bucket> recordedBucket = new IdentityHashMap<>();
+    // Spelling as stored -> display name and key. There are only a handful of distinct
+    // spellings, so this saves normalizing the same strings again for every student.
+    private final HashMap<String, String> displayNames = new HashMap<>();
+    private final HashMap<String, String> keys = new HashMap<>();
+
+    private static class Bucket {
+        final String departmentKey;
+        final String levelKey;
+        // Spelling of the first student filed here, for display
+        final String department;
+        final String level;
+        final LinkedHashSet<Student> students = new LinkedHashSet<>();
+
+        Bucket(String departmentKey, String levelKey, String department, String level) {
+            this.departmentKey = departmentKey;
+            this.levelKey = levelKey;
+            this.department = department;
+            this.level = level;
+        }
+    }
+
+    public void add(Student student) {
+        String department = displayNames.computeIfAbsent(nullToEmpty(student.getDepartment()), DepartmentLevelIndex::displayName);
+        String level = displayNames.computeIfAbsent(nullToEmpty(student.getlevel()), DepartmentLevelIndex::displayName);
+        String departmentKey = keys.computeIfAbsent(department, DepartmentLevelIndex::key);
+        String levelKey = keys.computeIfAbsent(level, DepartmentLevelIndex::key);
+        Bucket bucket = buckets.computeIfAbsent(departmentKey, k -> new TreeMap<>())
+                .computeIfAbsent(levelKey, k -> new Bucket(departmentKey, levelKey, department, level));
+        if (recordedBucket.put(student, bucket) != null) {
+            throw new IllegalStateException("Student " + student.getreg() + " is already indexed");
+        }
+        bucket.students.add(student);
+    }
+
+    public void remove(Student student) {
+        Bucket bucket = recordedBucket.remove(student);
+        if (bucket == null) {
+            return;
+        }
+        bucket.students.remove(student);
+        if (bucket.students.isEmpty()) {
+            TreeMap<String, Bucket> levels = buckets.get(bucket.departmentKey);
+            levels.remove(bucket.levelKey);
+            if (levels.isEmpty()) {
+                buckets.remove(bucket.departmentKey);
+            }
+        }
+    }
+
+    public void rebuild(Collection<Student> students) {
+        buckets.clear();
+        recordedBucket.clear();
+        displayNames.clear();
+        keys.clear();
+        for (Student student : students) {
+            add(student);
+        }
+    }
+
+    // Students in the given department and level; null or blank matches any. Results
+    // are grouped by department, then level, in the order students were added.
+    public List<Student> filter(String department, String level) {
+        List<Bucket> matches = new ArrayList<>();
+        String levelKey = isBlank(level) ? null : key(level);
+        Collection<TreeMap<String, Bucket>> departments;
+        if (isBlank(department)) {
+            departments = buckets.values();
+        } else {
+            TreeMap<String, Bucket> levels = buckets.get(key(department));
+            departments = levels == null ? Collections.emptyList() : Collections.singletonList(levels);
+        }
+        int size = 0;
+        for (TreeMap<String, Bucket> levels : departments) {
+            if (levelKey == null) {
+                matches.addAll(levels.values());
+            } else if (levels.containsKey(levelKey)) {
+                matches.add(levels.get(levelKey));
+            }
+        }
+        for (Bucket bucket : matches) {
+            size += bucket.students.size();
+        }
+
+        List<Student> result = new ArrayList<>(size);
+        for (Bucket bucket : matches) {
+            result.addAll(bucket.students);
+        }
+        return result;
+    }
+
+    // Distinct departments, in alphabetical order
+    public List<String> getDepartments() {
+        List<String> names = new ArrayList<>(buckets.size());
+        for (TreeMap<String, Bucket> levels : buckets.values()) {
+            names.add(levels.firstEntry().getValue().department);
+        }
+        return names;
+    }
+
+    // Distinct levels across all departments, in alphabetical order
+    public List<String> getLevels() {
+        TreeMap<String, String> names = new TreeMap<>();
+        for (TreeMap<String, Bucket> levels : buckets.values()) {
+            for (Bucket bucket : levels.values()) {
+                names.putIfAbsent(bucket.levelKey, bucket.level);
+            }
+        }
+        return new ArrayList<>(names.values());
+    }
+
+    static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    static String displayName(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ");
+    }
+
+    static String key(String value) {
+        return displayName(value).toLowerCase(Locale.ROOT);
+    }
+
+    static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,839 @@
+package com.capstone.core;
+
+import java.util.*;
+
+// Store over a memory-mapped StudentRecordsFile. The students in the file stay in the
+// mapping and are read from it on demand; only the students added or changed since the
+// file was written are held on the heap, as private copies. Like the columnar store,
+// get() and find() return detached copies, so changes must go through the manager.
+//
+// Rows 0 .. fileRows-1 are the records in the file and later rows are heap rows. An
+// update retires the old row and adds a heap row in its place, a remove retires the row.
+// The list order needs no heap either until the first remove or reorder: position p is
+// row p, apart from the positions in moved. After that the order is kept in full, at
+// 8 bytes per student.
+//
+// Statistics come from a CGPA histogram saved in the file and adjusted on each change;
+// everything else scans the rows in the mapping, as ColumnarStudentStore scans its arrays.
+//
+// Once a snapshot of the list has been written to a new records file, reattach() moves
+// the store onto it: the rows the snapshot wrote become file rows again and only the
+// changes made since stay on the heap.
+class MappedStudentStore implements StudentStore {
+    private StudentRecordsFile file;
+    private int fileRows;
+
+    // Row fileRows + i is heapRows[i]. Entries are never changed or cleared, so a
+    // snapshot that captured the array can go on reading it.
+    private Student[] heapRows = new Student[16];
+    private int[] heapDepartments = new int[16];
+    private int[] heapLevels = new int[16];
+    private int heapCount;
+    // Lower-cased reg -> live heap row
+    private final HashMap<String, Integer> heapRegs = new HashMap<>();
+    private BitSet retired = new BitSet();
+    private int size;
+
+    // Position -> row where the two differ, and back, while order is null
+    private final HashMap<Integer, Integer> moved = new HashMap<>();
+    private final HashMap<Integer, Integer> movedRows = new HashMap<>();
+    // Rows in list order and the position of each live row, once kept in full
+    private int[] order;
+    private int[] positions;
+
+    // Seeded with the file's dictionaries, so file codes mean the same here
+    private StringDictionary departmentDictionary = new StringDictionary();
+    private StringDictionary levelDictionary = new StringDictionary();
+    private int[] departmentUse = new int[16];
+    private int[] levelUse = new int[16];
+    private CgpaHistogram histogram = new CgpaHistogram();
+    // Catalog courses, so heap rows share them as the file's rows do
+    private final StudentInterner interner;
+
+    // Worked out on demand, then kept up to date by each change as far as it can be
+    private volatile Extremes extremes;
+
+    private static class Extremes {
+        final double highest;
+        final double lowest;
+        // Earliest row with the highest CGPA, or -1
+        final int topRow;
+
+        Extremes(double highest, double lowest, int topRow) {
+            this.highest = highest;
+            this.lowest = lowest;
+            this.topRow = topRow;
+        }
+    }
+
+    MappedStudentStore(CourseCatalog catalog) {
+        interner = new StudentInterner(catalog);
+    }
+
+    // Take the students in file as the current list. Called once, on an empty store.
+    void attach(StudentRecordsFile file) {
+        if (this.file != null || size > 0) {
+            throw new IllegalStateException("Store already holds students");
+        }
+        this.file = file;
+        fileRows = file.count();
+        size = fileRows;
+        for (String department : file.departments()) {
+            departmentDictionary.encode(department);
+        }
+        for (String level : file.levels()) {
+            levelDictionary.encode(level);
+        }
+        departmentUse = Arrays.copyOf(file.departmentCounts(), Math.max(16, file.departmentCounts().length));
+        levelUse = Arrays.copyOf(file.levelCounts(), Math.max(16, file.levelCounts().length));
+        histogram = new CgpaHistogram(file.histogram().clone(), file.cgpaSum());
+    }
+
+    // Move onto newFile, which holds written, a snapshot() of this store, in list order.
+    // Row p of newFile is the student at position p when the snapshot was taken. Rows
+    // changed or removed since then are retired in newFile, and rows added since are
+    // carried over as heap rows, so the list reads the same as before. The old file is
+    // no longer referenced by the store, though lists handed out earlier still read it.
+    // Returns false, changing nothing, if written was not taken from this store.
+    boolean reattach(StudentRecordsFile newFile, List<Student> written) {
+        if (!(written instanceof SnapshotList) || ((SnapshotList) written).store != this
+                || written.size() != newFile.count()) {
+            return false;
+        }
+        RowOrder captured = ((SnapshotList) written).order;
+        int newFileRows = newFile.count();
+
+        // Current row -> row in newFile, for the rows the snapshot wrote
+        int[] fileRowOf = new int[rowCount()];
+        Arrays.fill(fileRowOf, -1);
+        for (int p = 0; p < captured.size; p++) {
+            fileRowOf[captured.rowAt(p)] = p;
+        }
+
+        StringDictionary departments = new StringDictionary();
+        StringDictionary levels = new StringDictionary();
+        for (String department : newFile.departments()) {
+            departments.encode(department);
+        }
+        for (String level : newFile.levels()) {
+            levels.encode(level);
+        }
+        int[] newDepartmentUse = Arrays.copyOf(newFile.departmentCounts(), Math.max(16, newFile.departmentCounts().length));
+        int[] newLevelUse = Arrays.copyOf(newFile.levelCounts(), Math.max(16, newFile.levelCounts().length));
+        CgpaHistogram newHistogram = new CgpaHistogram(newFile.histogram().clone(), newFile.cgpaSum());
+
+        // Live rows in list order, renumbered; heap rows are already private copies
+        int[] newOrder = new int[Math.max(16, size)];
+        BitSet placed = new BitSet(newFileRows);
+        List<Student> carried = new ArrayList<>();
+        int mismatches = 0;
+        for (int i = 0; i < size; i++) {
+            int row = rowAt(i);
+            int newRow = fileRowOf[row];
+            if (newRow < 0) {
+                newRow = newFileRows + carried.size();
+                carried.add(heapRows[row - fileRows]);
+            } else {
+                placed.set(newRow);
+            }
+            newOrder[i] = newRow;
+            if (newRow != i) {
+                mismatches++;
+            }
+        }
+        Extremes current = extremes;
+        int newTopRow = current == null || current.topRow < 0 ? -1 : newOrder[positionOf(current.topRow)];
+
+        BitSet newRetired = new BitSet(newFileRows);
+        newRetired.set(0, newFileRows);
+        newRetired.andNot(placed);
+        for (int row = newRetired.nextSetBit(0); row >= 0; row = newRetired.nextSetBit(row + 1)) {
+            newDepartmentUse[newFile.department(row)]--;
+            newLevelUse[newFile.level(row)]--;
+            newHistogram.remove(newFile.cgpa(row));
+        }
+
+        file = newFile;
+        fileRows = newFileRows;
+        retired = newRetired;
+        departmentDictionary = departments;
+        levelDictionary = levels;
+        departmentUse = newDepartmentUse;
+        levelUse = newLevelUse;
+        histogram = newHistogram;
+        heapRows = new Student[Math.max(16, carried.size())];
+        heapDepartments = new int[heapRows.length];
+        heapLevels = new int[heapRows.length];
+        heapCount = 0;
+        heapRegs.clear();
+        for (Student student : carried) {
+            int row = newFileRows + heapCount;
+            heapRows[heapCount] = student;
+            heapDepartments[heapCount] = departments.encode(student.getDepartment());
+            heapLevels[heapCount] = levels.encode(student.getlevel());
+            heapCount++;
+            heapRegs.put(student.getreg().toLowerCase(Locale.ROOT), row);
+            departmentUse = ColumnarStudentStore.countUse(departmentUse, department(row), 1);
+            levelUse = ColumnarStudentStore.countUse(levelUse, level(row), 1);
+            histogram.add(student.getCgpa());
+        }
+
+        // Back to the compact order while only a few positions differ from their rows
+        moved.clear();
+        movedRows.clear();
+        if (mismatches <= size / 8) {
+            order = null;
+            positions = null;
+            for (int i = 0; i < size; i++) {
+                if (newOrder[i] != i) {
+                    moved.put(i, newOrder[i]);
+                    movedRows.put(newOrder[i], i);
+                }
+            }
+        } else {
+            order = newOrder;
+            positions = new int[Math.max(16, rowCount())];
+            for (int i = 0; i < size; i++) {
+                positions[order[i]] = i;
+            }
+        }
+        extremes = current == null ? null : new Extremes(current.highest, current.lowest, newTopRow);
+        return true;
+    }
+
+    // The rows as they are now, for reading outside the manager's lock
+    private Rows rows() {
+        return new Rows(file, fileRows, heapRows);
+    }
+
+    private static class Rows {
+        final StudentRecordsFile file;
+        final int fileRows;
+        final Student[] heapRows;
+
+        Rows(StudentRecordsFile file, int fileRows, Student[] heapRows) {
+            this.file = file;
+            this.fileRows = fileRows;
+            this.heapRows = heapRows;
+        }
+
+        Student student(int row) {
+            return row < fileRows ? file.student(row) : copyOf(heapRows[row - fileRows]);
+        }
+
+        String reg(int row) {
+            return row < fileRows ? file.reg(row) : heapRows[row - fileRows].getreg();
+        }
+
+        String name(int row) {
+            return row < fileRows ? file.name(row) : heapRows[row - fileRows].getName();
+        }
+
+        int nameLetters(int row) {
+            return row < fileRows ? file.nameLetters(row) : NameMatcher.letterMask(heapRows[row - fileRows].getName());
+        }
+
+        double cgpa(int row) {
+            return row < fileRows ? file.cgpa(row) : heapRows[row - fileRows].getCgpa();
+        }
+    }
+
+    private static Student copyOf(Student student) {
+        Student copy = new Student(student.getName(), student.getreg(), student.getlevel(), student.getDepartment());
+        List<Result> results = new ArrayList<>(student.getResults().size());
+        for (Result result : student.getResults()) {
+            results.add(new Result(result.getCourse(), result.getGrade()));
+        }
+        copy.addResults(results);
+        return copy;
+    }
+
+    private int department(int row) {
+        return row < fileRows ? file.department(row) : heapDepartments[row - fileRows];
+    }
+
+    private int level(int row) {
+        return row < fileRows ? file.level(row) : heapLevels[row - fileRows];
+    }
+
+    private int rowCount() {
+        return fileRows + heapCount;
+    }
+
+    // Rows held on the heap rather than in the file, live or retired
+    int heapRowCount() {
+        return heapCount;
+    }
+
+    private int rowAt(int position) {
+        if (order != null) {
+            return order[position];
+        }
+        if (moved.isEmpty()) {
+            return position;
+        }
+        return moved.getOrDefault(position, position);
+    }
+
+    private int positionOf(int row) {
+        if (order != null) {
+            return positions[row];
+        }
+        return movedRows.getOrDefault(row, row);
+    }
+
+    private int findRow(String reg) {
+        if (reg == null) {
+            return -1;
+        }
+        Integer heapRow = heapRegs.get(reg.toLowerCase(Locale.ROOT));
+        if (heapRow != null) {
+            return heapRow;
+        }
+        if (file != null) {
+            int row = file.find(reg);
+            if (row >= 0 && !retired.get(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Student get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return rows().student(rowAt(index));
+    }
+
+    @Override
+    public Student find(String reg) {
+        int row = findRow(reg);
+        return row < 0 ? null : rows().student(row);
+    }
+
+    @Override
+    public int indexOf(String reg) {
+        int row = findRow(reg);
+        return row < 0 ? -1 : positionOf(row);
+    }
+
+    @Override
+    public void add(Student student) {
+        int row = addHeapRow(student);
+        place(size, row);
+        size++;
+        admit(row);
+    }
+
+    @Override
+    public void set(int index, Student student) {
+        retire(rowAt(index));
+        int row = addHeapRow(student);
+        place(index, row);
+        admit(row);
+    }
+
+    @Override
+    public void remove(int index) {
+        keepFullOrder();
+        retire(order[index]);
+        System.arraycopy(order, index + 1, order, index, size - index - 1);
+        size--;
+        for (int i = index; i < size; i++) {
+            positions[order[i]] = i;
+        }
+    }
+
+    @Override
+    public boolean addResults(String reg, Collection<Result> results) {
+        int row = findRow(reg);
+        if (row < 0) {
+            return false;
+        }
+        Student student = rows().student(row);
+        student.addResults(results);
+        set(positionOf(row), student);
+        return true;
+    }
+
+    private int addHeapRow(Student student) {
+        if (heapCount == heapRows.length) {
+            // New arrays, so captured Rows keep the old ones
+            heapRows = Arrays.copyOf(heapRows, heapCount * 2);
+            heapDepartments = Arrays.copyOf(heapDepartments, heapCount * 2);
+            heapLevels = Arrays.copyOf(heapLevels, heapCount * 2);
+        }
+        int department = departmentDictionary.encode(student.getDepartment());
+        int level = levelDictionary.encode(student.getlevel());
+        // The copy takes the dictionaries' strings and the shared courses
+        Student copy = new Student(student.getName(), student.getreg(),
+                levelDictionary.decode(level), departmentDictionary.decode(department));
+        List<Result> results = new ArrayList<>(student.getResults().size());
+        for (Result result : student.getResults()) {
+            results.add(new Result(interner.course(result.getCourse()), result.getGrade()));
+        }
+        copy.addResults(results);
+        heapRows[heapCount] = copy;
+        heapDepartments[heapCount] = department;
+        heapLevels[heapCount] = level;
+        heapCount++;
+        if (positions != null && positions.length < rowCount()) {
+            positions = Arrays.copyOf(positions, Math.max(rowCount(), positions.length * 2));
+        }
+        return rowCount() - 1;
+    }
+
+    private void place(int position, int row) {
+        if (order != null) {
+            if (position == order.length) {
+                order = Arrays.copyOf(order, Math.max(16, order.length * 2));
+            }
+            order[position] = row;
+            positions[row] = position;
+            return;
+        }
+        Integer previous = moved.remove(position);
+        if (previous != null) {
+            movedRows.remove(previous);
+        }
+        if (row != position) {
+            moved.put(position, row);
+            movedRows.put(row, position);
+        }
+    }
+
+    // Switch from moved to a full order and position list
+    private void keepFullOrder() {
+        if (order != null) {
+            return;
+        }
+        int[] newOrder = new int[Math.max(16, size)];
+        int[] newPositions = new int[Math.max(16, rowCount())];
+        for (int i = 0; i < size; i++) {
+            newOrder[i] = rowAt(i);
+            newPositions[newOrder[i]] = i;
+        }
+        order = newOrder;
+        positions = newPositions;
+        moved.clear();
+        movedRows.clear();
+    }
+
+    private void admit(int row) {
+        if (row >= fileRows) {
+            heapRegs.put(heapRows[row - fileRows].getreg().toLowerCase(Locale.ROOT), row);
+        }
+        departmentUse = ColumnarStudentStore.countUse(departmentUse, department(row), 1);
+        levelUse = ColumnarStudentStore.countUse(levelUse, level(row), 1);
+        double cgpa = rows().cgpa(row);
+        histogram.add(cgpa);
+        // Rows are numbered in the order they were added, so a tie does not displace the top row
+        Extremes current = extremes;
+        if (current != null) {
+            if (current.topRow < 0) {
+                extremes = new Extremes(cgpa, cgpa, row);
+            } else if (cgpa > current.highest) {
+                extremes = new Extremes(cgpa, current.lowest, row);
+            } else if (cgpa < current.lowest) {
+                extremes = new Extremes(current.highest, cgpa, current.topRow);
+            }
+        }
+    }
+
+    private void retire(int row) {
+        retired.set(row);
+        if (row >= fileRows) {
+            heapRegs.remove(heapRows[row - fileRows].getreg().toLowerCase(Locale.ROOT), row);
+        }
+        departmentUse[department(row)]--;
+        levelUse[level(row)]--;
+        double cgpa = rows().cgpa(row);
+        histogram.remove(cgpa);
+        // Another row may share the CGPA being given up, so that case is worked out again
+        Extremes current = extremes;
+        if (current != null && (row == current.topRow || cgpa <= current.lowest)) {
+            extremes = null;
+        }
+    }
+
+    // Snapshots and ordering
+
+    // Positions to rows, as they are now
+    private static class RowOrder {
+        final int size;
+        final int[] rows;
+        final Map<Integer, Integer> moved;
+
+        RowOrder(int size, int[] rows, Map<Integer, Integer> moved) {
+            this.size = size;
+            this.rows = rows;
+            this.moved = moved;
+        }
+
+        int rowAt(int position) {
+            return rows != null ? rows[position] : moved.getOrDefault(position, position);
+        }
+    }
+
+    private static class SnapshotList extends AbstractList<Student> implements RandomAccess {
+        private final MappedStudentStore store;
+        private final RowOrder order;
+        private final Rows rows;
+
+        SnapshotList(MappedStudentStore store, RowOrder order, Rows rows) {
+            this.store = store;
+            this.order = order;
+            this.rows = rows;
+        }
+
+        @Override
+        public Student get(int index) {
+            if (index < 0 || index >= order.size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + order.size);
+            }
+            return rows.student(order.rowAt(index));
+        }
+
+        @Override
+        public int size() {
+            return order.size;
+        }
+    }
+
+    // Costs O(changes) rather than O(students) until the order is kept in full
+    @Override
+    public List<Student> snapshot() {
+        RowOrder captured = order != null
+                ? new RowOrder(size, Arrays.copyOf(order, size), null)
+                : new RowOrder(size, null, new HashMap<>(moved));
+        return new SnapshotList(this, captured, rows());
+    }
+
+    private static class RowListOrder implements Order {
+        final int[] rows;
+        final Rows source;
+
+        RowListOrder(int[] rows, Rows source) {
+            this.rows = rows;
+            this.source = source;
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+
+        @Override
+        public boolean sort(SortKey key, int from, int to, TaskProgress progress) {
+            int n = to - from;
+            if (n < 2) {
+                return true;
+            }
+            ColumnarStudentStore.IntComparator comparator;
+            if (key == SortKey.NAME) {
+                String[] folded = new String[n];
+                for (int i = 0; i < n; i++) {
+                    folded[i] = NameSorter.foldCase(source.name(rows[from + i]));
+                }
+                comparator = (a, b) -> folded[a].compareTo(folded[b]);
+            } else {
+                double[] cgpas = new double[n];
+                for (int i = 0; i < n; i++) {
+                    cgpas[i] = source.cgpa(rows[from + i]);
+                }
+                // Highest first
+                comparator = (a, b) -> Double.compare(cgpas[b], cgpas[a]);
+            }
+            int[] sorted = ColumnarStudentStore.sortedPermutation(n, comparator, progress);
+            if (sorted == null) {
+                return false;
+            }
+            int[] copy = Arrays.copyOfRange(rows, from, to);
+            for (int i = 0; i < n; i++) {
+                rows[from + i] = copy[sorted[i]];
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public Order copyOrder() {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = rowAt(i);
+        }
+        return new RowListOrder(rows, rows());
+    }
+
+    @Override
+    public void setOrder(Order newOrder) {
+        installOrder(((RowListOrder) newOrder).rows);
+    }
+
+    private void installOrder(int[] rows) {
+        keepFullOrder();
+        System.arraycopy(rows, 0, order, 0, size);
+        for (int i = 0; i < size; i++) {
+            positions[order[i]] = i;
+        }
+    }
+
+    // Merges the file's reg order with the heap rows, without decoding more than one
+    // reg per row
+    @Override
+    public void sortById() {
+        int[] heapSorted = liveHeapRowsByReg(null, null);
+        Rows source = rows();
+        int[] sorted = new int[size];
+        int n = 0;
+        int h = 0;
+        for (int i = 0; i < fileRows; i++) {
+            int row = file.rowInRegOrder(i);
+            if (retired.get(row)) {
+                continue;
+            }
+            String reg = file.reg(row);
+            while (h < heapSorted.length && String.CASE_INSENSITIVE_ORDER.compare(source.reg(heapSorted[h]), reg) < 0) {
+                sorted[n++] = heapSorted[h++];
+            }
+            sorted[n++] = row;
+        }
+        while (h < heapSorted.length) {
+            sorted[n++] = heapSorted[h++];
+        }
+        installOrder(sorted);
+    }
+
+    // Live heap rows with fromReg <= reg <= toReg (null for no bound), sorted by reg
+    private int[] liveHeapRowsByReg(String fromReg, String toReg) {
+        int[] rows = new int[heapRegs.size()];
+        int n = 0;
+        for (int row : heapRegs.values()) {
+            String reg = heapRows[row - fileRows].getreg();
+            if ((fromReg == null || String.CASE_INSENSITIVE_ORDER.compare(reg, fromReg) >= 0)
+                    && (toReg == null || String.CASE_INSENSITIVE_ORDER.compare(reg, toReg) <= 0)) {
+                rows[n++] = row;
+            }
+        }
+        Student[] heap = heapRows;
+        int[] candidates = rows;
+        int[] permutation = ColumnarStudentStore.sortedPermutation(n, (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(
+                heap[candidates[a] - fileRows].getreg(), heap[candidates[b] - fileRows].getreg()));
+        int[] sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = candidates[permutation[i]];
+        }
+        return sorted;
+    }
+
+    // Reg numbers are unique ignoring case, so the hash lookup finds the same student
+    @Override
+    public Student binarySearchById(String reg) {
+        return find(reg);
+    }
+
+    @Override
+    public List<Student> findInIdRange(String fromReg, String toReg) {
+        int[] heapSorted = liveHeapRowsByReg(fromReg, toReg);
+        Rows source = rows();
+        List<Student> result = new ArrayList<>();
+        int h = 0;
+        for (int i = fileLowerBound(fromReg); i < fileRows; i++) {
+            int row = file.rowInRegOrder(i);
+            String reg = file.reg(row);
+            if (String.CASE_INSENSITIVE_ORDER.compare(reg, toReg) > 0) {
+                break;
+            }
+            if (retired.get(row)) {
+                continue;
+            }
+            while (h < heapSorted.length && String.CASE_INSENSITIVE_ORDER.compare(source.reg(heapSorted[h]), reg) < 0) {
+                result.add(source.student(heapSorted[h++]));
+            }
+            result.add(file.student(row));
+        }
+        while (h < heapSorted.length) {
+            result.add(source.student(heapSorted[h++]));
+        }
+        return result;
+    }
+
+    // First position in the file's reg order whose reg is not below reg
+    private int fileLowerBound(String reg) {
+        int low = 0;
+        int high = fileRows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(file.reg(file.rowInRegOrder(mid)), reg) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Scans, in list order
+
+    @Override
+    public List<Student> filter(String department, String level) {
+        boolean[] departmentMatches = ColumnarStudentStore.matchingCodes(departmentDictionary, department);
+        boolean[] levelMatches = ColumnarStudentStore.matchingCodes(levelDictionary, level);
+        Rows source = rows();
+        List<Student> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int row = rowAt(i);
+            if (departmentMatches[department(row)] && levelMatches[level(row)]) {
+                result.add(source.student(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> getDepartments() {
+        return ColumnarStudentStore.distinctNames(departmentDictionary, departmentUse);
+    }
+
+    @Override
+    public List<String> getLevels() {
+        return ColumnarStudentStore.distinctNames(levelDictionary, levelUse);
+    }
+
+    // As ColumnarStudentStore.searchByName; the letter mask saved in each record means
+    // most names are never decoded
+    @Override
+    public List<Student> searchByName(String query, int limit) {
+        List<String> tokens = NameSearchIndex.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        NameMatcher matcher = new NameMatcher(tokens);
+        NameMatcher.Ranking ranking = matcher.ranking(limit);
+        Rows source = rows();
+        for (int i = 0; i < size && !ranking.isSettled(); i++) {
+            int row = rowAt(i);
+            if (matcher.mayMatch(source.nameLetters(row))) {
+                ranking.add(row, matcher.score(source.name(row)));
+            }
+        }
+
+        List<Student> results = new ArrayList<>();
+        for (int row : ranking.rows()) {
+            results.add(source.student(row));
+        }
+        return results;
+    }
+
+    // Statistics
+
+    @Override
+    public double getAverage() {
+        return histogram.average();
+    }
+
+    @Override
+    public double getHighest() {
+        return extremes().highest;
+    }
+
+    @Override
+    public double getLowest() {
+        return extremes().lowest;
+    }
+
+    @Override
+    public Student getTopPerformer() {
+        int row = extremes().topRow;
+        return row < 0 ? null : rows().student(row);
+    }
+
+    private Extremes extremes() {
+        Extremes current = extremes;
+        if (current == null) {
+            Rows source = rows();
+            double highest = 0.0;
+            double lowest = 0.0;
+            int topRow = -1;
+            for (int row = 0; row < rowCount(); row++) {
+                if (retired.get(row)) {
+                    continue;
+                }
+                double cgpa = source.cgpa(row);
+                if (topRow < 0) {
+                    lowest = cgpa;
+                }
+                if (topRow < 0 || cgpa > highest) {
+                    highest = cgpa;
+                    topRow = row;
+                }
+                lowest = Math.min(lowest, cgpa);
+            }
+            current = new Extremes(highest, lowest, topRow);
+            extremes = current;
+        }
+        return current;
+    }
+
+    @Override
+    public int rank(String reg) {
+        int row = findRow(reg);
+        return row < 0 ? -1 : histogram.rank(rows().cgpa(row));
+    }
+
+    // Highest CGPA first; equal buckets in row order
+    @Override
+    public List<Student> top(int k) {
+        if (k <= 0 || size == 0) {
+            return new ArrayList<>();
+        }
+        return inBuckets(histogram.topThreshold(k), CgpaRankIndex.BUCKETS - 1, 0, Double.MAX_VALUE, k);
+    }
+
+    @Override
+    public List<Student> between(double minCgpa, double maxCgpa) {
+        if (minCgpa > maxCgpa) {
+            return new ArrayList<>();
+        }
+        return inBuckets(CgpaRankIndex.bucketOf(minCgpa), CgpaRankIndex.bucketOf(maxCgpa), minCgpa, maxCgpa, Integer.MAX_VALUE);
+    }
+
+    private List<Student> inBuckets(int low, int high, double minCgpa, double maxCgpa, int limit) {
+        int candidates = histogram.countBetween(low, high);
+        int[] rows = new int[candidates];
+        int[] rowBuckets = new int[candidates];
+        int n = 0;
+        Rows source = rows();
+        for (int row = 0; row < rowCount(); row++) {
+            if (retired.get(row)) {
+                continue;
+            }
+            double cgpa = source.cgpa(row);
+            int bucket = CgpaRankIndex.bucketOf(cgpa);
+            if (bucket >= low && bucket <= high && cgpa >= minCgpa && cgpa <= maxCgpa) {
+                rows[n] = row;
+                rowBuckets[n] = bucket;
+                n++;
+            }
+        }
+
+        int[] sorted = CgpaHistogram.highestBucketFirst(rows, rowBuckets, n, low, high);
+        List<Student> result = new ArrayList<>(Math.min(n, limit));
+        for (int i = 0; i < n && i < limit; i++) {
+            result.add(source.student(sorted[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public double percentile(double percentile) {
+        return histogram.percentile(percentile);
+    }
+}
@@ -0,0 +1,152 @@
+package com.capstone.core;
+
+import java.util.*;
+
+// Name search for the stores that scan names rather than index them, with the same
+// matching rules as NameSearchIndex. Scores a name against the query: per query word,
+// 0 for an exact word, 1 for a prefix, 1 + edits for a typo, summed; -1 if some query
+// word matches nothing.
+class NameMatcher {
+    private final String[] tokens;
+    private final int[] maxDistances;
+    // Letters a-z in each query word, to rule out typo matches cheaply
+    private final int[] letterMasks;
+
+    NameMatcher(List<String> queryTokens) {
+        tokens = queryTokens.toArray(new String[0]);
+        maxDistances = new int[tokens.length];
+        letterMasks = new int[tokens.length];
+        for (int t = 0; t < tokens.length; t++) {
+            maxDistances[t] = tokens[t].length() >= NameSearchIndex.MIN_FUZZY_LENGTH
+                    ? NameSearchIndex.maxDistance(tokens[t]) : 0;
+            letterMasks[t] = letterMask(tokens[t]);
+        }
+    }
+
+    // Collects up to limit rows by score, best first, in the order they were added within a score
+    Ranking ranking(int limit) {
+        return new Ranking(worstScore() + 1, limit);
+    }
+
+    static class Ranking {
+        private final int[][] rowsByScore;
+        private final int[] counts;
+        private final int limit;
+
+        Ranking(int scores, int limit) {
+            rowsByScore = new int[scores][];
+            counts = new int[scores];
+            this.limit = limit;
+        }
+
+        // score as from score(); negative scores are ignored
+        void add(int row, int score) {
+            if (score < 0 || counts[score] >= limit) {
+                return;
+            }
+            int[] rows = rowsByScore[score];
+            if (rows == null) {
+                rows = new int[Math.min(limit, 16)];
+            } else if (counts[score] == rows.length) {
+                rows = Arrays.copyOf(rows, Math.min(limit, rows.length * 2));
+            }
+            rows[counts[score]++] = row;
+            rowsByScore[score] = rows;
+        }
+
+        // True once limit exact matches are in, so nothing later can make the cut
+        boolean isSettled() {
+            return counts[0] >= limit;
+        }
+
+        int[] rows() {
+            int[] result = new int[limit];
+            int n = 0;
+            for (int score = 0; score < counts.length && n < limit; score++) {
+                for (int i = 0; i < counts[score] && n < limit; i++) {
+                    result[n++] = rowsByScore[score][i];
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+
+    // False if some query word has more letters missing from the name than it has
+    // typos to spare, in which case score() would return -1
+    boolean mayMatch(int nameLetters) {
+        for (int t = 0; t < tokens.length; t++) {
+            if (Integer.bitCount(letterMasks[t] & ~nameLetters) > maxDistances[t]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int worstScore() {
+        int worst = 0;
+        for (int distance : maxDistances) {
+            worst += 1 + distance;
+        }
+        return worst;
+    }
+
+    int score(String name) {
+        String folded = name == null ? "" : name.toLowerCase(Locale.ROOT);
+        int total = 0;
+        for (int t = 0; t < tokens.length; t++) {
+            int best = -1;
+            int start = -1;
+            for (int i = 0; i <= folded.length() && best != 0; i++) {
+                boolean letter = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+                if (letter && start < 0) {
+                    start = i;
+                } else if (!letter && start >= 0) {
+                    int score = scoreWord(t, folded, start, i);
+                    if (score >= 0 && (best < 0 || score < best)) {
+                        best = score;
+                    }
+                    start = -1;
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private int scoreWord(int t, String text, int start, int end) {
+        String token = tokens[t];
+        int length = end - start;
+        if (length >= token.length() && text.startsWith(token, start)) {
+            return length == token.length() ? 0 : 1;
+        }
+        int maxDistance = maxDistances[t];
+        if (maxDistance == 0 || Math.abs(length - token.length()) > maxDistance
+                || Integer.bitCount(letterMasks[t] & ~letterMask(text, start, end)) > maxDistance) {
+            return -1;
+        }
+        int distance = NameSearchIndex.editDistance(token, text.substring(start, end), maxDistance);
+        return distance < 0 ? -1 : 1 + distance;
+    }
+
+    static int letterMask(String text) {
+        if (text == null) {
+            return 0;
+        }
+        String folded = text.toLowerCase(Locale.ROOT);
+        return letterMask(folded, 0, folded.length());
+    }
+
+    private static int letterMask(String text, int start, int end) {
+        int mask = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                mask |= 1 << (c - 'a');
+            }
+        }
+        return mask;
+    }
+}
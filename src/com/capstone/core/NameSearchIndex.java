@@ -0,0 +1,328 @@
+package com.capstone.core;
+
+import java.util.*;
+
+// Name search by token prefix, with typo tolerance. Names are split into case-folded
+// tokens ("Adaeze O. Nwosu" -> adaeze, o, nwosu). A sorted map from token to students
+// answers prefix queries with a range scan, and a trigram index over the distinct
+// tokens (not the students) finds tokens within a small edit distance of a misspelt one.
+// Tokens too short for the trigrams to narrow anything down are compared against the
+// distinct tokens of similar length instead.
+//
+// Each query token must match a token of the name. Matches are returned best first:
+// exact token, then prefix, then typo matches, closest first. Results stop at the limit,
+// so a short prefix over a million names costs no more than the rows it returns.
+class NameSearchIndex {
+    // Trigrams are taken over the token padded with these, so the ends count double
+    private static final char START = '^';
+    private static final char END = '$';
+    // Query tokens shorter than this are only matched as prefixes
+    static final int MIN_FUZZY_LENGTH = 3;
+
+    // token -> students whose name contains it, in the order they were added. Lists
+    // rather than sets keep this compact; removal scans the one list involved.
+    private final TreeMap<String, List<Student>> postings = new TreeMap<>();
+    // trigram -> distinct tokens containing it
+    private final HashMap<String, Set<String>> trigrams = new HashMap<>();
+    // token length -> distinct tokens of that length
+    private final HashMap<Integer, Set<String>> lengths = new HashMap<>();
+    // The name each student was indexed under, in case it is changed in place
+    private final IdentityHashMap<Student, String> recordedName = new IdentityHashMap<>();
+
+    public void add(Student student) {
+        String name = student.getName();
+        if (recordedName.containsKey(student)) {
+            throw new IllegalStateException("Student " + student.getreg() + " is already indexed");
+        }
+        recordedName.put(student, name);
+        for (String token : distinctTokens(name)) {
+            List<Student> students = postings.get(token);
+            if (students == null) {
+                students = new ArrayList<>(2);
+                postings.put(token, students);
+                for (String trigram : trigramsOf(token)) {
+                    trigrams.computeIfAbsent(trigram, k -> new HashSet<>()).add(token);
+                }
+                lengths.computeIfAbsent(token.length(), k -> new HashSet<>()).add(token);
+            }
+            students.add(student);
+        }
+    }
+
+    public void remove(Student student) {
+        if (!recordedName.containsKey(student)) {
+            return;
+        }
+        String name = recordedName.remove(student);
+        for (String token : distinctTokens(name)) {
+            List<Student> students = postings.get(token);
+            if (students == null) {
+                continue;
+            }
+            for (int i = students.size() - 1; i >= 0; i--) {
+                if (students.get(i) == student) {
+                    students.remove(i);
+                    break;
+                }
+            }
+            if (students.isEmpty()) {
+                postings.remove(token);
+                for (String trigram : trigramsOf(token)) {
+                    Set<String> tokens = trigrams.get(trigram);
+                    tokens.remove(token);
+                    if (tokens.isEmpty()) {
+                        trigrams.remove(trigram);
+                    }
+                }
+                Set<String> sameLength = lengths.get(token.length());
+                sameLength.remove(token);
+                if (sameLength.isEmpty()) {
+                    lengths.remove(token.length());
+                }
+            }
+        }
+    }
+
+    public void rebuild(Collection<Student> students) {
+        postings.clear();
+        trigrams.clear();
+        lengths.clear();
+        recordedName.clear();
+        for (Student student : students) {
+            add(student);
+        }
+    }
+
+    public List<Student> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        // Drive the search from the query token with the fewest prefix matches; the
+        // others are checked against each candidate's name
+        String driver = null;
+        long fewest = Long.MAX_VALUE;
+        for (String token : queryTokens) {
+            long matches = 0;
+            for (List<Student> students : postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                matches += students.size();
+            }
+            if (matches < fewest || (matches == fewest && token.length() > driver.length())) {
+                driver = token;
+                fewest = matches;
+            }
+        }
+        // For each other query token, the indexed tokens it accepts
+        List<Set<String>> others = new ArrayList<>();
+        boolean skippedDriver = false;
+        for (String token : queryTokens) {
+            if (!skippedDriver && token.equals(driver)) {
+                skippedDriver = true;
+                continue;
+            }
+            Set<String> accepted = new HashSet<>(
+                    postings.subMap(token, true, token + Character.MAX_VALUE, false).keySet());
+            if (token.length() >= MIN_FUZZY_LENGTH) {
+                accepted.addAll(similarTokens(token));
+            }
+            if (accepted.isEmpty()) {
+                return new ArrayList<>();
+            }
+            others.add(accepted);
+        }
+
+        Set<Student> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Student> results = new ArrayList<>();
+
+        // 1. Exact token
+        collect(postings.get(driver), others, found, results, limit);
+        // 2. Tokens starting with the query token, shortest completions first
+        if (results.size() < limit) {
+            List<String> completions = new ArrayList<>(
+                    postings.subMap(driver, false, driver + Character.MAX_VALUE, false).keySet());
+            completions.sort(Comparator.comparingInt(String::length));
+            for (String token : completions) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                collect(postings.get(token), others, found, results, limit);
+            }
+        }
+        // 3. Tokens within a small edit distance, closest first
+        if (results.size() < limit && driver.length() >= MIN_FUZZY_LENGTH) {
+            for (String token : similarTokens(driver)) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                collect(postings.get(token), others, found, results, limit);
+            }
+        }
+        return results;
+    }
+
+    private void collect(List<Student> students, List<Set<String>> others, Set<Student> found,
+                         List<Student> results, int limit) {
+        if (students == null) {
+            return;
+        }
+        for (Student student : students) {
+            if (results.size() >= limit) {
+                return;
+            }
+            if (found.contains(student) || !matchesAll(recordedName.get(student), others)) {
+                continue;
+            }
+            found.add(student);
+            results.add(student);
+        }
+    }
+
+    // Every query token accepts some token of the name
+    private static boolean matchesAll(String name, List<Set<String>> others) {
+        if (others.isEmpty()) {
+            return true;
+        }
+        List<String> nameTokens = tokenize(name);
+        for (Set<String> accepted : others) {
+            boolean matched = false;
+            for (String nameToken : nameTokens) {
+                if (accepted.contains(nameToken)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Indexed tokens within maxDistance(token) edits of token, closest first, excluding
+    // its completions. Candidates come from the trigram index: an edit changes at most
+    // three trigrams and a swap of neighbours four, so a token within k edits shares at
+    // least (trigram count - 4k) with the query and most of the vocabulary is never compared.
+    // A token with no more than 4k trigrams ("aza" has three) may share none with a match
+    // ("ada"), so then every token of a length within k is compared instead.
+    private List<String> similarTokens(String token) {
+        int maxDistance = maxDistance(token);
+        List<String> queryTrigrams = trigramsOf(token);
+        int minShared = queryTrigrams.size() - 4 * maxDistance;
+
+        Collection<String> candidates;
+        if (minShared > 0) {
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                Set<String> tokens = trigrams.get(trigram);
+                if (tokens != null) {
+                    for (String candidate : tokens) {
+                        shared.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+            candidates = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+                if (entry.getValue() >= minShared) {
+                    candidates.add(entry.getKey());
+                }
+            }
+        } else {
+            candidates = new ArrayList<>();
+            for (int length = token.length() - maxDistance; length <= token.length() + maxDistance; length++) {
+                Set<String> tokens = lengths.get(length);
+                if (tokens != null) {
+                    candidates.addAll(tokens);
+                }
+            }
+        }
+
+        List<String> similar = new ArrayList<>();
+        Map<String, Integer> distances = new HashMap<>();
+        for (String candidate : candidates) {
+            if (candidate.startsWith(token) || Math.abs(candidate.length() - token.length()) > maxDistance) {
+                continue;
+            }
+            int distance = editDistance(token, candidate, maxDistance);
+            if (distance >= 0) {
+                similar.add(candidate);
+                distances.put(candidate, distance);
+            }
+        }
+        similar.sort(Comparator.comparingInt((String t) -> distances.get(t)).thenComparing(Comparator.naturalOrder()));
+        return similar;
+    }
+
+    // One typo allowed in short tokens, two from eight letters up
+    static int maxDistance(String token) {
+        return token.length() >= 8 ? 2 : 1;
+    }
+
+    // Optimal string alignment distance (edits plus adjacent swaps), or -1 if it
+    // exceeds max. Rows stop early once every cell is over the limit.
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return -1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return -1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        int distance = previous[b.length()];
+        return distance <= max ? distance : -1;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letter = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static Collection<String> distinctTokens(String name) {
+        List<String> tokens = tokenize(name);
+        return tokens.size() < 2 ? tokens : new LinkedHashSet<>(tokens);
+    }
+
+    private static List<String> trigramsOf(String token) {
+        String padded = START + token + END;
+        List<String> result = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+}
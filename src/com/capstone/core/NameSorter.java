@@ -0,0 +1,177 @@
+package com.capstone.core;
+
+import java.util.List;
+
+// Introsort by student name (case-insensitive, same order as compareToIgnoreCase).
+// Quicksort with median-of-three pivots, falling back to heapsort when the
+// recursion gets too deep and to insertion sort for short ranges. The
+// smaller partition is recursed into and the larger one looped on, so the
+// stack depth stays O(log N) even on adversarial input. Progress counts
+// students in their final place: each pivot, and each range finished by
+// insertion sort or heapsort.
+class NameSorter {
+    private static final int INSERTION_THRESHOLD = 16;
+    // Ranges this long are partitioned only after checking for cancellation
+    private static final int POLL_THRESHOLD = 1 << 14;
+
+    private final String[] keys;
+    private final Student[] items;
+    private final SortProgress progress;
+
+    private NameSorter(List<Student> students, int from, int to, TaskProgress progress) {
+        int n = to - from;
+        this.progress = new SortProgress(progress, n);
+        keys = new String[n];
+        items = new Student[n];
+        for (int i = 0; i < n; i++) {
+            Student student = students.get(from + i);
+            items[i] = student;
+            keys[i] = foldCase(student.getName());
+        }
+    }
+
+    // Sort students[from, to) by name
+    public static void sort(List<Student> students, int from, int to) {
+        sort(students, from, to, TaskProgress.NONE);
+    }
+
+    // Returns false, leaving students unchanged, if the sort was cancelled
+    public static boolean sort(List<Student> students, int from, int to, TaskProgress progress) {
+        if (to - from < 2) {
+            return true;
+        }
+
+        NameSorter sorter = new NameSorter(students, from, to, progress);
+        int n = to - from;
+        sorter.introSort(0, n, 2 * (31 - Integer.numberOfLeadingZeros(n)));
+        if (sorter.progress.isCancelled()) {
+            return false;
+        }
+
+        for (int i = 0; i < n; i++) {
+            students.set(from + i, sorter.items[i]);
+        }
+        return true;
+    }
+
+    // Fold each char the way String.compareToIgnoreCase does, once per student
+    static String foldCase(String name) {
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private void introSort(int lo, int hi, int depthLimit) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (hi - lo >= POLL_THRESHOLD ? progress.pollCancelled() : progress.isCancelled()) {
+                return;
+            }
+            if (depthLimit == 0) {
+                heapSort(lo, hi);
+                progress.advance(hi - lo);
+                return;
+            }
+            depthLimit--;
+
+            int p = partition(lo, hi);
+            progress.advance(1);
+            if (p - lo < hi - p - 1) {
+                introSort(lo, p, depthLimit);
+                lo = p + 1;
+            } else {
+                introSort(p + 1, hi, depthLimit);
+                hi = p;
+            }
+        }
+        insertionSort(lo, hi);
+        if (hi > lo) {
+            progress.advance(hi - lo);
+        }
+    }
+
+    // Median-of-three partition of [lo, hi); returns the pivot's final index
+    private int partition(int lo, int hi) {
+        int mid = (lo + hi) >>> 1;
+        int last = hi - 1;
+        if (less(mid, lo)) swap(mid, lo);
+        if (less(last, lo)) swap(last, lo);
+        if (less(last, mid)) swap(last, mid);
+
+        // keys[lo] <= median <= keys[last] now act as sentinels
+        int pivotIndex = hi - 2;
+        swap(mid, pivotIndex);
+        String pivot = keys[pivotIndex];
+
+        int i = lo;
+        int j = pivotIndex;
+        while (true) {
+            while (keys[++i].compareTo(pivot) < 0) { }
+            while (keys[--j].compareTo(pivot) > 0) { }
+            if (i >= j) {
+                break;
+            }
+            swap(i, j);
+        }
+        swap(i, pivotIndex);
+        return i;
+    }
+
+    private void insertionSort(int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            String key = keys[i];
+            Student item = items[i];
+            int j = i - 1;
+            while (j >= lo && keys[j].compareTo(key) > 0) {
+                keys[j + 1] = keys[j];
+                items[j + 1] = items[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            items[j + 1] = item;
+        }
+    }
+
+    private void heapSort(int lo, int hi) {
+        int n = hi - lo;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(lo, lo + end);
+            siftDown(lo, 0, end);
+        }
+    }
+
+    private void siftDown(int base, int node, int size) {
+        while (true) {
+            int child = 2 * node + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && less(base + child, base + child + 1)) {
+                child++;
+            }
+            if (!less(base + node, base + child)) {
+                return;
+            }
+            swap(base + node, base + child);
+            node = child;
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a].compareTo(keys[b]) < 0;
+    }
+
+    private void swap(int a, int b) {
+        String key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+
+        Student item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+    }
+}
@@ -0,0 +1,303 @@
+package com.capstone.core;
+
+import java.util.*;
+
+// The default store: Student objects in an ArrayList, with a hash index and a sorted
+// index over reg numbers and the secondary indexes (statistics, department and level,
+// CGPA rank, name search) kept up to date on every change. get() and find() return the
+// held objects themselves.
+class ObjectStudentStore implements StudentStore {
+    private ArrayList<Student> students = new ArrayList<>();
+    // Primary index: lower-cased reg number -> student
+    private final HashMap<String, Student> studentIndex = new HashMap<>();
+    // Sorted index over reg numbers for ordered lookups and range scans
+    private final TreeMap<String, Student> sortedIdIndex = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    // Each held student records its position in students (Student.getStorePosition),
+    // for indexOf(). Positions below positionsValid are current. A position at or past the
+    // mark was right when written and can only have moved down since, by at most one per
+    // remove, so indexOf() checks that short window; after RENUMBER_AFTER removes, or a
+    // reorder, it renumbers the students past the mark instead.
+    private int positionsValid;
+    private int removesSinceRenumber;
+    private static final int RENUMBER_AFTER = 1024;
+    private final ClassStatistics statistics = new ClassStatistics();
+    // Secondary index: department and level -> students, for filtered views
+    private final DepartmentLevelIndex departmentLevelIndex = new DepartmentLevelIndex();
+    // Order statistics over CGPA: rank, top K, CGPA ranges and percentiles
+    private final CgpaRankIndex cgpaIndex = new CgpaRankIndex();
+    // Prefix and typo-tolerant search over name tokens
+    private final NameSearchIndex nameIndex = new NameSearchIndex();
+    // Installed on every student held here, so results added straight to a Student
+    // (e.g. student.addResult) still reach cgpaChanged() under the manager's lock
+    private final Student.CgpaListener cgpaListener;
+    // Shared department, level and course instances for the students held here
+    private final StudentInterner interner;
+
+    ObjectStudentStore(Student.CgpaListener cgpaListener, CourseCatalog catalog) {
+        this.cgpaListener = cgpaListener;
+        this.interner = new StudentInterner(catalog);
+    }
+
+    @Override
+    public int size() {
+        return students.size();
+    }
+
+    @Override
+    public Student get(int index) {
+        return students.get(index);
+    }
+
+    @Override
+    public Student find(String reg) {
+        return studentIndex.get(indexKey(reg));
+    }
+
+    @Override
+    public int indexOf(String reg) {
+        Student student = find(reg);
+        if (student == null) {
+            return -1;
+        }
+        int position = student.getStorePosition();
+        if (position < 0 || position >= positionsValid) {
+            position = locate(student, position);
+        }
+        // The same Student object held by a second store may have been renumbered there
+        if (position < 0 || position >= students.size() || students.get(position) != student) {
+            return students.indexOf(student);
+        }
+        return position;
+    }
+
+    // Position of a student whose recorded position is at or past positionsValid
+    private int locate(Student student, int recorded) {
+        if (recorded >= 0 && removesSinceRenumber <= RENUMBER_AFTER) {
+            int low = Math.max(0, recorded - removesSinceRenumber);
+            for (int i = Math.min(recorded, students.size() - 1); i >= low; i--) {
+                if (students.get(i) == student) {
+                    student.setStorePosition(i);
+                    return i;
+                }
+            }
+        }
+        for (int i = positionsValid; i < students.size(); i++) {
+            students.get(i).setStorePosition(i);
+        }
+        positionsValid = students.size();
+        removesSinceRenumber = 0;
+        return student.getStorePosition();
+    }
+
+    @Override
+    public void add(Student student) {
+        students.add(student);
+        student.setStorePosition(students.size() - 1);
+        if (positionsValid == students.size() - 1) {
+            positionsValid++;
+        }
+        studentIndex.put(indexKey(student.getreg()), student);
+        sortedIdIndex.put(student.getreg(), student);
+        indexStudent(student);
+    }
+
+    @Override
+    public void set(int index, Student student) {
+        Student existing = students.set(index, student);
+        student.setStorePosition(index);
+        studentIndex.remove(indexKey(existing.getreg()));
+        studentIndex.put(indexKey(student.getreg()), student);
+        sortedIdIndex.remove(existing.getreg());
+        sortedIdIndex.put(student.getreg(), student);
+        // student may be the same object edited in place, so re-read everything
+        unindexStudent(existing);
+        indexStudent(student);
+    }
+
+    @Override
+    public void remove(int index) {
+        Student student = students.remove(index);
+        positionsValid = Math.min(positionsValid, index);
+        if (removesSinceRenumber < Integer.MAX_VALUE) {
+            removesSinceRenumber++;
+        }
+        studentIndex.remove(indexKey(student.getreg()));
+        sortedIdIndex.remove(student.getreg());
+        unindexStudent(student);
+    }
+
+    @Override
+    public boolean addResults(String reg, Collection<Result> results) {
+        int index = indexOf(reg);
+        if (index < 0) {
+            return false;
+        }
+        // Snapshots handed out still hold the old student and are read outside the
+        // lock, so the merged results go into a new Student rather than the held one
+        Student existing = students.get(index);
+        Student student = new Student(existing.getName(), existing.getreg(),
+                existing.getlevel(), existing.getDepartment());
+        List<Result> merged = new ArrayList<>(existing.getResults().size() + results.size());
+        for (Result result : existing.getResults()) {
+            merged.add(new Result(result.getCourse(), result.getGrade()));
+        }
+        merged.addAll(results);
+        student.addResults(merged);
+        set(index, student);
+        return true;
+    }
+
+    @Override
+    public void cgpaChanged(Student student) {
+        if (studentIndex.get(indexKey(student.getreg())) == student) {
+            statistics.refresh(student);
+            cgpaIndex.refresh(student);
+        }
+    }
+
+    private static String indexKey(String reg) {
+        return reg.toLowerCase(Locale.ROOT);
+    }
+
+    // Add a student to the statistics and secondary indexes
+    private void indexStudent(Student student) {
+        interner.intern(student);
+        statistics.add(student);
+        departmentLevelIndex.add(student);
+        cgpaIndex.add(student);
+        nameIndex.add(student);
+        student.setCgpaListener(cgpaListener);
+    }
+
+    private void unindexStudent(Student student) {
+        statistics.remove(student);
+        departmentLevelIndex.remove(student);
+        cgpaIndex.remove(student);
+        nameIndex.remove(student);
+        if (student.getCgpaListener() == cgpaListener) {
+            student.setCgpaListener(null);
+        }
+    }
+
+    @Override
+    public List<Student> snapshot() {
+        return List.copyOf(students);
+    }
+
+    private static class ListOrder implements Order {
+        final ArrayList<Student> students;
+
+        ListOrder(ArrayList<Student> students) {
+            this.students = students;
+        }
+
+        @Override
+        public int size() {
+            return students.size();
+        }
+
+        @Override
+        public boolean sort(SortKey key, int from, int to, TaskProgress progress) {
+            if (key == SortKey.NAME) {
+                return NameSorter.sort(students, from, to, progress);
+            }
+            return CgpaSorter.sort(students.subList(from, to), progress);
+        }
+    }
+
+    @Override
+    public Order copyOrder() {
+        return new ListOrder(new ArrayList<>(students));
+    }
+
+    @Override
+    public void setOrder(Order order) {
+        students = ((ListOrder) order).students;
+        forgetPositions();
+    }
+
+    // After a reorder every recorded position is stale
+    private void forgetPositions() {
+        positionsValid = 0;
+        removesSinceRenumber = Integer.MAX_VALUE;
+    }
+
+    // Straight from the sorted ID index - O(N)
+    @Override
+    public void sortById() {
+        students = new ArrayList<>(sortedIdIndex.values());
+        forgetPositions();
+    }
+
+    // O(log N), leaves the student list untouched
+    @Override
+    public Student binarySearchById(String reg) {
+        return sortedIdIndex.get(reg);
+    }
+
+    @Override
+    public List<Student> findInIdRange(String fromReg, String toReg) {
+        return new ArrayList<>(sortedIdIndex.subMap(fromReg, true, toReg, true).values());
+    }
+
+    @Override
+    public List<Student> filter(String department, String level) {
+        return departmentLevelIndex.filter(department, level);
+    }
+
+    @Override
+    public List<Student> searchByName(String query, int limit) {
+        return nameIndex.search(query, limit);
+    }
+
+    @Override
+    public List<String> getDepartments() {
+        return departmentLevelIndex.getDepartments();
+    }
+
+    @Override
+    public List<String> getLevels() {
+        return departmentLevelIndex.getLevels();
+    }
+
+    @Override
+    public double getAverage() {
+        return statistics.getAverage();
+    }
+
+    @Override
+    public double getHighest() {
+        return statistics.getHighest();
+    }
+
+    @Override
+    public double getLowest() {
+        return statistics.getLowest();
+    }
+
+    @Override
+    public Student getTopPerformer() {
+        return statistics.getTopPerformer();
+    }
+
+    @Override
+    public int rank(String reg) {
+        Student student = find(reg);
+        return student == null ? -1 : cgpaIndex.rank(student);
+    }
+
+    @Override
+    public List<Student> top(int k) {
+        return cgpaIndex.top(k);
+    }
+
+    @Override
+    public List<Student> between(double minCgpa, double maxCgpa) {
+        return cgpaIndex.between(minCgpa, maxCgpa);
+    }
+
+    @Override
+    public double percentile(double percentile) {
+        return cgpaIndex.percentile(percentile);
+    }
+}
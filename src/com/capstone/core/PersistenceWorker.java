@@ -0,0 +1,115 @@
+package com.capstone.core;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Background thread that batches persistence work. Callers mark the data dirty;
+// the write runs once per flush window no matter how many edits came in, and
+// flush() can be used as a barrier when a caller needs the data on disk now.
+class PersistenceWorker {
+    interface WriteTask {
+        // Returns false if there was nothing to write
+        boolean write() throws IOException;
+    }
+
+    private final WriteTask task;
+    private final long windowMillis;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // While suspended, markDirty() only remembers that a write is owed
+    private int suspendCount;
+    private boolean dirtyWhileSuspended;
+
+    // Write latency, only touched on the worker thread
+    private volatile long writeCount;
+    private volatile long lastWriteNanos;
+    private volatile long maxWriteNanos;
+    private volatile long totalWriteNanos;
+
+    public PersistenceWorker(WriteTask task, long windowMillis) {
+        this.task = task;
+        this.windowMillis = windowMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-persistence");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Schedule a write at the end of the current window (no-op if one is already pending)
+    public void markDirty() {
+        synchronized (this) {
+            if (suspendCount > 0) {
+                dirtyWhileSuspended = true;
+                return;
+            }
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                scheduled.set(false);
+                runWrite();
+            }, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Hold back scheduled writes, e.g. during a bulk import. Calls nest; flush() still writes.
+    public synchronized void suspend() {
+        suspendCount++;
+    }
+
+    public void resume() {
+        synchronized (this) {
+            if (suspendCount == 0 || --suspendCount > 0 || !dirtyWhileSuspended) {
+                return;
+            }
+            dirtyWhileSuspended = false;
+        }
+        markDirty();
+    }
+
+    // Write everything now and wait until it is done
+    public void flush() {
+        try {
+            executor.submit(this::runWrite).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            System.err.println("Error flushing data: " + e.getMessage());
+        }
+    }
+
+    // Final flush, then stop the thread
+    public void shutdown() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        flush();
+        executor.shutdown();
+    }
+
+    private void runWrite() {
+        long start = System.nanoTime();
+        try {
+            if (!task.write()) {
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error saving data: " + e.getMessage());
+            markDirty(); // retry in the next window
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        lastWriteNanos = elapsed;
+        maxWriteNanos = Math.max(maxWriteNanos, elapsed);
+        totalWriteNanos += elapsed;
+        writeCount++;
+    }
+
+    public long getWriteCount() { return writeCount; }
+    public double getLastWriteMillis() { return lastWriteNanos / 1e6; }
+    public double getMaxWriteMillis() { return maxWriteNanos / 1e6; }
+    public double getAverageWriteMillis() {
+        return writeCount == 0 ? 0.0 : totalWriteNanos / 1e6 / writeCount;
+    }
+}
@@ -0,0 +1,22 @@
+package com.capstone.core;
+
+import java.io.Serializable;
+
+public abstract class Person implements Serializable {
+    protected String name;
+    protected String reg;
+    
+    public Person(String name, String reg) {
+        this.name = name;
+        this.reg = reg;
+    }
+    
+    // Abstract method to be implemented by subclasses
+    public abstract String getDisplayInfo();
+    
+    // Getters and setters
+    public String getName() { return name; }
+    public String getreg() { return reg; }
+    public void setName(String name) { this.name = name; }
+    public void setreg(String reg) { this.reg = reg; }
+}
@@ -0,0 +1,43 @@
+package com.capstone.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
+public class Result implements Serializable {
+    private Course course;
+    private double grade;
+    private String letterGrade;
+    
+    public Result(Course course, double grade) {
+        this.course = course;
+        this.grade = grade;
+        this.letterGrade = calculateLetterGrade(grade);
+    }
+    
+    // Letters by grade points, so a letter always matches what the grade earns towards
+    // the CGPA: A is 70 and up (5 points), B 55, C 40, D 30, E 20, F below 20
+    private static final String[] LETTERS = {"F", "E", "D", "C", "B", "A"};
+    
+    private static String calculateLetterGrade(double grade) {
+        return LETTERS[(int) Student.convertToGradePoints(grade)];
+    }
+    
+    // Files written before the scale above stored the letter from an older one
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        letterGrade = calculateLetterGrade(grade);
+    }
+    
+    // Getters and setters
+    public Course getCourse() { return course; }
+    public double getGrade() { return grade; }
+    public String getLetterGrade() { return letterGrade; }
+    // Only for swapping in an identical shared Course; credits must not change, as the
+    // student's CGPA is not recomputed
+    void setCourse(Course course) { this.course = course; }
+    public void setGrade(double grade) { 
+        this.grade = grade; 
+        this.letterGrade = calculateLetterGrade(grade);
+    }
+}
@@ -0,0 +1,45 @@
+package com.capstone.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// A sort's progress, in units of work the sorter counts up front (elements placed by
+// a merge pass, a partition or a leaf). Passed on to the TaskProgress at most every
+// REPORT_STEP units, which is also when cancellation is polled; a sorter stops at its
+// next check once isCancelled() is true. Shared by the threads of a parallel sort.
+final class SortProgress {
+    private static final long REPORT_STEP = 1 << 14;
+
+    private final TaskProgress progress;
+    private final long total;
+    private final AtomicLong done = new AtomicLong();
+    private volatile boolean cancelled;
+
+    SortProgress(TaskProgress progress, long total) {
+        this.progress = progress;
+        this.total = total;
+    }
+
+    void advance(long units) {
+        long before = done.getAndAdd(units);
+        long after = before + units;
+        if (after / REPORT_STEP != before / REPORT_STEP || after >= total) {
+            progress.update(Math.min(after, total), total);
+            if (progress.isCancelled()) {
+                cancelled = true;
+            }
+        }
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Asks the TaskProgress directly, for a sorter about to take a long step that
+    // places nothing, such as partitioning a large range
+    boolean pollCancelled() {
+        if (!cancelled && progress.isCancelled()) {
+            cancelled = true;
+        }
+        return cancelled;
+    }
+}
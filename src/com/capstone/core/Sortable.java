@@ -0,0 +1,7 @@
+package com.capstone.core;
+
+public interface Sortable {
+    int compareByName(Sortable other);
+    int compareByCGPA(Sortable other);
+    int compareById(Sortable other);
+}
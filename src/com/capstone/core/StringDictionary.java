@@ -0,0 +1,53 @@
+package com.capstone.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+// Maps strings to small int codes, numbered in order of first appearance. Codes are
+// never reused or renumbered, so a code stored in a column always names the same
+// string. The backing array is replaced rather than resized in place when it grows,
+// so an array handed out by values() stays valid for the codes it already held.
+class StringDictionary {
+    private final HashMap<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[16];
+    private int size;
+
+    // Code for value, adding it if it is new. null is a value like any other.
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    // The instance of value held here, adding value if it is new; equal strings passed
+    // in come back as one shared instance
+    public String intern(String value) {
+        return values[encode(value)];
+    }
+
+    // Code for value, or -1 if it has never been encoded
+    public int lookup(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    public String decode(int code) {
+        return values[code];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Backing array; entries [0, size()) are the values by code
+    String[] values() {
+        return values;
+    }
+}
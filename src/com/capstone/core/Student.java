@@ -0,0 +1,194 @@
+package com.capstone.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class Student extends Person implements Sortable, Serializable {
+    // Pinned to the value of the original class so existing data files stay readable
+    private static final long serialVersionUID = -4153254015459911986L;
+
+    private String level;
+    private String department;
+    private ArrayList<Result> results;
+    private double cgpa;
+    
+    // Running totals behind cgpa; rebuilt from results after deserialization
+    private transient double totalPoints;
+    private transient int totalCreditHours;
+    // Set by the StudentDataManager holding this student, so its CGPA indexes follow
+    // results added or changed directly on the student
+    private transient CgpaListener cgpaListener;
+    // Position in the ObjectStudentStore holding this student, kept by that store
+    private transient int storePosition = -1;
+    
+    interface CgpaListener {
+        void cgpaChanged(Student student);
+    }
+    
+    public Student(String name, String reg, String level, String department) {
+        super(name, reg);
+        this.level = level;
+        this.department = department;
+        this.results = new ArrayList<>();
+        this.cgpa = 0.0;
+    }
+    
+    // Method overloading - different ways to add results
+    public void addResult(Course course, double grade) {
+        addResult(new Result(course, grade));
+    }
+    
+    public void addResult(Result result) {
+        results.add(result);
+        accumulate(result, 1);
+        updateCGPA();
+    }
+    
+    // Add a whole transcript at once; CGPA is recomputed a single time at the end
+    public void addResults(Collection<Result> newResults) {
+        results.ensureCapacity(results.size() + newResults.size());
+        for (Result result : newResults) {
+            results.add(result);
+            accumulate(result, 1);
+        }
+        updateCGPA();
+    }
+    
+    public boolean removeResult(Result result) {
+        if (!results.remove(result)) {
+            return false;
+        }
+        accumulate(result, -1);
+        updateCGPA();
+        return true;
+    }
+    
+    // Change the grade of one of this student's results and adjust the CGPA
+    public void updateResultGrade(Result result, double grade) {
+        if (!results.contains(result)) {
+            throw new IllegalArgumentException("Result does not belong to student " + reg);
+        }
+        accumulate(result, -1);
+        result.setGrade(grade);
+        accumulate(result, 1);
+        updateCGPA();
+    }
+    
+    // Add (sign = 1) or take away (sign = -1) one result's contribution to the running totals
+    private void accumulate(Result result, int sign) {
+        int credits = result.getCourse().getCreditHours();
+        totalPoints += sign * convertToGradePoints(result.getGrade()) * credits;
+        totalCreditHours += sign * credits;
+    }
+    
+    private void updateCGPA() {
+        double previous = cgpa;
+        cgpa = totalCreditHours > 0 ? totalPoints / totalCreditHours : 0.0;
+        if (cgpa != previous && cgpaListener != null) {
+            cgpaListener.cgpaChanged(this);
+        }
+    }
+    
+    void setCgpaListener(CgpaListener listener) {
+        this.cgpaListener = listener;
+    }
+    
+    CgpaListener getCgpaListener() {
+        return cgpaListener;
+    }
+    
+    int getStorePosition() {
+        return storePosition;
+    }
+    
+    void setStorePosition(int storePosition) {
+        this.storePosition = storePosition;
+    }
+    
+    // Calculate CGPA based on all results
+    private void calculateCGPA() {
+        totalPoints = 0;
+        totalCreditHours = 0;
+        for (Result result : results) {
+            accumulate(result, 1);
+        }
+        updateCGPA();
+    }
+    
+    // Add up the totals again, after the credit hours of a course taken here changed
+    void recalculateCgpa() {
+        calculateCGPA();
+    }
+    
+    // True if one of the results is for this very Course object
+    boolean hasResultFor(Course course) {
+        for (Result result : results) {
+            if (result.getCourse() == course) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (results == null) {
+            results = new ArrayList<>();
+        }
+        calculateCGPA();
+    }
+    
+    static double convertToGradePoints(double grade) {
+        if (grade >= 70) return 5.0;
+        else if (grade >= 55) return 4.0;
+        else if (grade >= 40) return 3.0;
+        else if (grade >= 30) return 2.0;
+        else if (grade >= 20) return 1.0;
+        else return 0.0;
+    }
+    
+    // Override abstract method from Person
+    @Override
+    public String getDisplayInfo() {
+        return String.format("ID: %s, Name: %s, CGPA: %.2f, Department: %s", 
+                           reg, name, cgpa, department);
+    }
+    
+    // Implement Sortable interface methods
+    @Override
+    public int compareByName(Sortable other) {
+        if (other instanceof Student) {
+            return this.name.compareToIgnoreCase(((Student) other).name);
+        }
+        return 0;
+    }
+    
+    @Override
+    public int compareByCGPA(Sortable other) {
+        if (other instanceof Student) {
+            return Double.compare(((Student) other).cgpa, this.cgpa); // Descending order
+        }
+        return 0;
+    }
+    
+    @Override
+    public int compareById(Sortable other) {
+        if (other instanceof Student) {
+            return this.reg.compareToIgnoreCase(((Student) other).reg);
+        }
+        return 0;
+    }
+    
+    // Getters and setters
+    public String getlevel() { return level; }
+    public String getDepartment() { return department; }
+    public List<Result> getResults() { return Collections.unmodifiableList(results); }
+    public double getCgpa() { return cgpa; }
+    public void setlevel(String level) { this.level = level; }
+    public void setDepartment(String department) { this.department = department; }
+}
@@ -0,0 +1,354 @@
+package com.capstone.core;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+// Versioned binary format for students.dat.
+//
+//   header   : magic "SSPD" (int), version (short)
+//   courses  : count (int), then per course: code, name (strings), credit hours (byte)
+//   students : count (int), then per student: reg, name, level, department (strings),
+//              result count (short), then per result: course index (varint), grade
+//
+// Strings are a varint byte length followed by UTF-8 bytes. Grades are packed as
+// hundredths in a short; a grade that does not fit is written as -1 plus the raw double.
+class StudentCodec {
+    static final int MAGIC = 0x53535044;
+    static final short VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final short GRADE_UNPACKED = -1;
+    // Smallest encodings: a course is two empty strings and a credits byte, a student
+    // four empty strings and a result count
+    private static final int MIN_COURSE_BYTES = 3;
+    private static final int MIN_STUDENT_BYTES = 6;
+    // First two bytes of a java.io.ObjectOutputStream stream
+    private static final int LEGACY_STREAM_MAGIC = 0xACED;
+
+    // True if the file was written by the old ObjectOutputStream-based saveData()
+    public static boolean isLegacyFormat(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            int b1 = in.read();
+            int b2 = in.read();
+            return b2 != -1 && ((b1 << 8) | b2) == LEGACY_STREAM_MAGIC;
+        }
+    }
+
+    public static void write(Path file, List<Student> students) throws IOException {
+        // Build the course dictionary so each result only stores a small index
+        Map<String, Course> dictionary = new LinkedHashMap<>();
+        for (Student student : students) {
+            for (Result result : student.getResults()) {
+                Course course = result.getCourse();
+                dictionary.putIfAbsent(course.getCourseCode(), course);
+            }
+        }
+
+        try (Writer writer = new Writer(file, dictionary.values())) {
+            for (Student student : students) {
+                writer.append(student);
+            }
+        }
+    }
+
+    // Streams students into a new data file one at a time. The course dictionary must be
+    // known up front; the student count is patched into the header on close().
+    static class Writer implements Closeable {
+        private final FileChannel channel;
+        private final Output out;
+        private final Map<String, Integer> courseIds = new HashMap<>();
+        private final long countPosition;
+        private int count;
+
+        Writer(Path file, Collection<Course> dictionary) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            out = new Output(channel);
+            out.putInt(MAGIC);
+            out.putShort(VERSION);
+
+            out.putInt(dictionary.size());
+            for (Course course : dictionary) {
+                courseIds.put(course.getCourseCode(), courseIds.size());
+                out.putString(course.getCourseCode());
+                out.putString(course.getCourseName());
+                out.putByte(course.getCreditHours());
+            }
+
+            countPosition = out.position();
+            out.putInt(0);
+        }
+
+        void append(Student student) throws IOException {
+            out.putString(student.getreg());
+            out.putString(student.getName());
+            out.putString(student.getlevel());
+            out.putString(student.getDepartment());
+
+            List<Result> results = student.getResults();
+            out.putShort(results.size());
+            for (Result result : results) {
+                Integer courseId = courseIds.get(result.getCourse().getCourseCode());
+                if (courseId == null) {
+                    throw new IOException("Course " + result.getCourse().getCourseCode() + " is not in the dictionary");
+                }
+                out.putVarInt(courseId);
+                out.putGrade(result.getGrade());
+            }
+            count++;
+        }
+
+        int getCount() { return count; }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.flush();
+                ByteBuffer header = ByteBuffer.allocate(4).putInt(0, count);
+                channel.write(header, countPosition);
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // Courses already in the catalog are reused so results share the same Course objects
+    public static ArrayList<Student> read(Path file, List<Course> catalog) throws IOException {
+        ArrayList<Student> students = new ArrayList<>();
+        read(file, catalog, students::add);
+        return students;
+    }
+
+    // Hand each student to sink as it is decoded, without collecting them in a list first.
+    // Returns the number of students read.
+    public static int read(Path file, List<Course> catalog, Consumer<Student> sink) throws IOException {
+        Map<String, Course> catalogByCode = CourseCatalog.byCode(catalog);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Input in = new Input(channel);
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a student data file: " + file);
+            }
+            short version = in.getShort();
+            if (version > VERSION) {
+                throw new IOException("Unsupported data file version " + version);
+            }
+
+            // Counts are checked against the bytes left, so a corrupt header fails with an
+            // IOException rather than a huge or negative allocation
+            int courseCount = in.getCount(MIN_COURSE_BYTES, "course");
+            Course[] dictionary = new Course[courseCount];
+            for (int i = 0; i < courseCount; i++) {
+                String code = in.getString();
+                String name = in.getString();
+                int credits = in.getByte();
+                Course course = catalogByCode.get(CourseCatalog.codeKey(code));
+                dictionary[i] = course != null ? course : new Course(code, name, credits);
+            }
+
+            int studentCount = in.getCount(MIN_STUDENT_BYTES, "student");
+            List<Result> results = new ArrayList<>();
+            for (int i = 0; i < studentCount; i++) {
+                String reg = in.getString();
+                String name = in.getString();
+                String level = in.getString();
+                String department = in.getString();
+                Student student = new Student(name, reg, level, department);
+
+                int resultCount = in.getShort() & 0xFFFF;
+                results.clear();
+                for (int j = 0; j < resultCount; j++) {
+                    int courseIndex = in.getVarInt();
+                    if (courseIndex < 0 || courseIndex >= courseCount) {
+                        throw new IOException("Course index " + courseIndex + " out of range in " + file);
+                    }
+                    Course course = dictionary[courseIndex];
+                    results.add(new Result(course, in.getGrade()));
+                }
+                student.addResults(results);
+                sink.accept(student);
+            }
+            return studentCount;
+        }
+    }
+
+    // Buffered writer over a FileChannel
+    private static class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private long flushedBytes;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putByte(int value) throws IOException {
+            ensure(1);
+            buffer.put((byte) value);
+        }
+
+        void putShort(int value) throws IOException {
+            ensure(2);
+            buffer.putShort((short) value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putVarInt(int value) throws IOException {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putGrade(double grade) throws IOException {
+            long hundredths = Math.round(grade * 100);
+            if (hundredths >= 0 && hundredths <= Short.MAX_VALUE && hundredths / 100.0 == grade) {
+                putShort((int) hundredths);
+            } else {
+                ensure(10);
+                buffer.putShort(GRADE_UNPACKED);
+                buffer.putDouble(grade);
+            }
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarInt(bytes.length);
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        // Offset in the file of the next byte to be written
+        long position() {
+            return flushedBytes + buffer.position();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushedBytes += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+
+    // Buffered reader over a FileChannel
+    private static class Input {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Input(FileChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        // Bytes not yet read, buffered or still in the file
+        long remaining() throws IOException {
+            return channel.size() - channel.position() + buffer.remaining();
+        }
+
+        // An int count of entries taking at least minBytes each
+        int getCount(int minBytes, String what) throws IOException {
+            int count = getInt();
+            if (count < 0 || (long) count * minBytes > remaining()) {
+                throw new IOException("Bad " + what + " count " + count + " in data file");
+            }
+            return count;
+        }
+
+        int getByte() throws IOException {
+            ensure(1);
+            return buffer.get() & 0xFF;
+        }
+
+        short getShort() throws IOException {
+            ensure(2);
+            return buffer.getShort();
+        }
+
+        int getInt() throws IOException {
+            ensure(4);
+            return buffer.getInt();
+        }
+
+        int getVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = getByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        double getGrade() throws IOException {
+            short packed = getShort();
+            if (packed != GRADE_UNPACKED) {
+                return packed / 100.0;
+            }
+            ensure(8);
+            return buffer.getDouble();
+        }
+
+        String getString() throws IOException {
+            int length = getVarInt();
+            if (length < 0 || length > remaining()) {
+                throw new IOException("Bad string length " + length + " in data file");
+            }
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                if (!buffer.hasRemaining()) {
+                    ensure(1);
+                }
+                int chunk = Math.min(buffer.remaining(), length - offset);
+                buffer.get(bytes, offset, chunk);
+                offset += chunk;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) == -1) {
+                    throw new EOFException("Unexpected end of data file");
+                }
+            }
+            buffer.flip();
+        }
+    }
+}
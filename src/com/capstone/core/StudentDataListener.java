@@ -0,0 +1,10 @@
+package com.capstone.core;
+
+// Notified by StudentDataManager after the student list changes
+public interface StudentDataListener {
+    void studentAdded(int index);
+    void studentUpdated(int index);
+    void studentRemoved(int index);
+    // The list was re-ordered or reloaded as a whole
+    void studentsChanged();
+}
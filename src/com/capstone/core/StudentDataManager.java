@@ -0,0 +1,1109 @@
+package com.capstone.core;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Safe for concurrent use: reads share a read lock, edits take the write lock, and
+// listeners are notified after the lock is released.
+public class StudentDataManager {
+    // How students are held in memory.
+    // OBJECTS: a Student object per student, with per-student indexes; getStudentAt()
+    // and the lookups return the held objects, so direct edits are picked up.
+    // COLUMNAR: one array per field, using a fraction of the memory for large classes;
+    // students handed out are copies, so every change must go through this manager.
+    // MAPPED: students stay in a memory-mapped records file and are read from it on
+    // demand, so opening takes no time or heap in proportion to the class size. Saved as
+    // students.records instead of students.dat. Students handed out are copies.
+    public enum StorageMode { OBJECTS, COLUMNAR, MAPPED }
+    
+    private final StudentStore store;
+    private final StorageMode storageMode;
+    // Shared Course objects, found by code; edited through addCourse() and updateCourse()
+    private final CourseCatalog catalog;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Immutable copy of students handed out by getStudents(); cleared by every change
+    // and rebuilt on the next call, so repeated reads between edits share one copy
+    private volatile List<Student> cachedStudents;
+    // Bumped whenever the student list or its order changes; lets a sort done outside
+    // the lock tell whether its copy is still current
+    private long version;
+    private final List<StudentDataListener> listeners = new CopyOnWriteArrayList<>();
+    private final String DATA_FILE = "students.dat";
+    private final String RECORDS_FILE = "students.records";
+    private final String LEGACY_BACKUP_FILE = "students.dat.legacy";
+    private final String JOURNAL_FILE = "students.journal";
+    // Directory holding the files above
+    private final Path dataDirectory;
+    private final String COURSES_FILE = "courses.dat";
+    
+    // Number of journal records allowed to accumulate before they are folded into the snapshot
+    private static final int CHECKPOINT_INTERVAL = 256;
+    // Edits made within this many milliseconds of each other are written together
+    private static final long DEFAULT_FLUSH_WINDOW_MILLIS = 200;
+    
+    private final boolean journaled;
+    // Loaded by readOnly(): nothing in the data directory is written, moved or deleted
+    private final boolean readOnly;
+    private StudentJournal journal;
+    private final PersistenceWorker persistence;
+    private final Thread shutdownHook;
+    // Encoded journal records and snapshot requests waiting for the persistence thread
+    private final List<byte[]> pendingRecords = new ArrayList<>();
+    private boolean snapshotDue;
+    private boolean catalogDue;
+    
+    public StudentDataManager() {
+        this(true);
+    }
+    
+    public StudentDataManager(boolean journaled) {
+        this(journaled, DEFAULT_FLUSH_WINDOW_MILLIS);
+    }
+    
+    public StudentDataManager(boolean journaled, long flushWindowMillis) {
+        this(Paths.get(""), journaled, flushWindowMillis);
+    }
+    
+    // In journaled mode each edit appends one record to the journal instead of rewriting the data file.
+    // Either way the write happens on a background thread, once per flush window.
+    public StudentDataManager(Path dataDirectory, boolean journaled, long flushWindowMillis) {
+        this(dataDirectory, journaled, flushWindowMillis, StorageMode.OBJECTS);
+    }
+    
+    public StudentDataManager(Path dataDirectory, boolean journaled, long flushWindowMillis, StorageMode storageMode) {
+        this(dataDirectory, journaled, flushWindowMillis, storageMode, false);
+    }
+    
+    // A manager over a data directory that another process owns, for query-only use such
+    // as StudentServer. The files are read as they are: no persistence thread, journal
+    // appends, migration, conversion or clean-up. Changes are kept in memory only.
+    public static StudentDataManager readOnly(Path dataDirectory, StorageMode storageMode) {
+        return new StudentDataManager(dataDirectory, false, 0, storageMode, true);
+    }
+    
+    private StudentDataManager(Path dataDirectory, boolean journaled, long flushWindowMillis,
+            StorageMode storageMode, boolean readOnly) {
+        this.dataDirectory = dataDirectory;
+        this.journaled = journaled;
+        this.readOnly = readOnly;
+        this.storageMode = storageMode;
+        catalog = loadCatalog();
+        store = createStore(storageMode);
+        // The journal is always replayed on load, even when it is not used for new edits
+        journal = new StudentJournal(dataDirectory.resolve(JOURNAL_FILE).toString());
+        loadData();
+        
+        if (readOnly) {
+            persistence = null;
+            shutdownHook = null;
+            return;
+        }
+        persistence = new PersistenceWorker(this::writePending, flushWindowMillis);
+        shutdownHook = new Thread(persistence::shutdown, "student-persistence-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        if (!journaled && journal.getRecordCount() > 0) {
+            // Fold a journal left by a journaled session into the snapshot
+            snapshotDue = true;
+            persistence.markDirty();
+        }
+        if (catalogDue) {
+            persistence.markDirty();
+        }
+    }
+    
+    // A manager with no data file, journal or persistence thread, for front ends that
+    // seed their own sample data. Changes are lost when the program exits.
+    public static StudentDataManager inMemory(List<Course> courses) {
+        return inMemory(courses, StorageMode.OBJECTS);
+    }
+    
+    public static StudentDataManager inMemory(List<Course> courses, StorageMode storageMode) {
+        return new StudentDataManager(courses, storageMode);
+    }
+    
+    private StudentDataManager(List<Course> courses, StorageMode storageMode) {
+        this.dataDirectory = null;
+        this.journaled = false;
+        this.readOnly = false;
+        this.storageMode = storageMode;
+        this.catalog = new CourseCatalog(courses);
+        this.store = createStore(storageMode);
+        persistence = null;
+        shutdownHook = null;
+    }
+    
+    // Every store keeps one instance per department, level and course, with the catalog's
+    // courses shared by the results that name them
+    private StudentStore createStore(StorageMode storageMode) {
+        switch (storageMode) {
+            case COLUMNAR:
+                return new ColumnarStudentStore(catalog);
+            case MAPPED:
+                return new MappedStudentStore(catalog);
+            case OBJECTS:
+            default:
+                // Results added straight to a held Student (e.g. student.addResult) reach
+                // the store's statistics and CGPA index through this listener
+                return new ObjectStudentStore(this::cgpaChanged, catalog);
+        }
+    }
+    
+    // courses.dat if there is one. Otherwise the built-in catalog, which the persistence
+    // thread then saves as courses.dat; a file that cannot be read is left alone.
+    private CourseCatalog loadCatalog() {
+        Path coursesFile = dataDirectory.resolve(COURSES_FILE);
+        if (Files.exists(coursesFile)) {
+            try {
+                return CourseCatalog.read(coursesFile);
+            } catch (IOException e) {
+                System.err.println("Error loading courses: " + e.getMessage());
+                return new CourseCatalog(sampleCourses());
+            }
+        }
+        catalogDue = true;
+        return new CourseCatalog(sampleCourses());
+    }
+    
+    // The built-in course catalog
+    static List<Course> sampleCourses() {
+        List<Course> courses = new ArrayList<>();
+        courses.add(new Course("MATH202", "Differential Equation", 2));
+        courses.add(new Course("INS204", "System Deesign and Analysis", 3));
+        courses.add(new Course("COS202", "Computer Programming 2", 3));
+        courses.add(new Course("ILS204", "Information and Literacy Skills", 1));
+        courses.add(new Course("GST212", "Logic and Philosophy", 2));
+        courses.add(new Course("GET204", "Student Workshop Practice", 2));
+        courses.add(new Course("IFT212", "Computer Organization and Architecture", 2));
+        courses.add(new Course("SOE202", "Software Requirement Modeling", 2));
+        courses.add(new Course("SOE206", "Introduction to Embedded Systems", 2));
+        courses.add(new Course("ENT212", "Entreprenuership Studies", 1));
+        return courses;
+    }
+    
+    // Add student with validation
+    public void addStudent(Student student) throws StudentManagementException {
+        int index;
+        lock.writeLock().lock();
+        try {
+            // Check for duplicate ID
+            if (store.find(student.getreg()) != null) {
+                throw new StudentManagementException("Student with ID " + student.getreg() + " already exists!");
+            }
+            store.add(student);
+            recordMutation(StudentJournal.OP_ADD, student.getreg(), student);
+            index = store.size() - 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        for (StudentDataListener listener : listeners) {
+            listener.studentAdded(index);
+        }
+    }
+    
+    // Bulk add, e.g. from StudentGenerator. Students whose ID already exists are skipped.
+    // The batch is saved as one snapshot rather than a journal record per student, and
+    // listeners get a single studentsChanged() instead of one event per row.
+    public int addStudents(Iterator<? extends Student> source) {
+        int added = 0;
+        lock.writeLock().lock();
+        try {
+            while (source.hasNext()) {
+                Student student = source.next();
+                if (store.find(student.getreg()) != null) {
+                    continue;
+                }
+                store.add(student);
+                added++;
+            }
+            
+            if (added > 0) {
+                cachedStudents = null;
+                version++;
+                if (persistence != null) {
+                    snapshotDue = true;
+                    persistence.markDirty();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        if (added > 0) {
+            fireStudentsChanged();
+        }
+        return added;
+    }
+    
+    // Bulk add results, keyed by reg number. Each student's CGPA and the CGPA indexes are
+    // updated once per student and the batch is saved as one snapshot. Results for reg
+    // numbers that are not found are skipped; returns how many results were added.
+    public int addResults(Map<String, ? extends Collection<Result>> resultsByReg) {
+        int added = 0;
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, ? extends Collection<Result>> entry : resultsByReg.entrySet()) {
+                if (entry.getKey() == null || entry.getValue().isEmpty()) {
+                    continue;
+                }
+                if (store.addResults(entry.getKey(), entry.getValue())) {
+                    added += entry.getValue().size();
+                }
+            }
+            
+            if (added > 0) {
+                // Columnar and mapped stores hold the changed students as new rows
+                cachedStudents = null;
+                version++;
+                if (persistence != null) {
+                    snapshotDue = true;
+                    persistence.markDirty();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        if (added > 0) {
+            fireStudentsChanged();
+        }
+        return added;
+    }
+    
+    // Update student information
+    public void updateStudent(String id, Student updatedStudent) throws StudentManagementException {
+        int index;
+        lock.writeLock().lock();
+        try {
+            index = id == null ? -1 : store.indexOf(id);
+            if (index < 0) {
+                throw new StudentManagementException("Student with ID " + id + " not found!");
+            }
+            
+            // A changed reg must not take over another student's
+            int other = store.indexOf(updatedStudent.getreg());
+            if (other >= 0 && other != index) {
+                throw new StudentManagementException("Student with ID " + updatedStudent.getreg() + " already exists!");
+            }
+            
+            // The reg as stored, which the journal record is keyed by
+            String existingReg = store.get(index).getreg();
+            store.set(index, updatedStudent);
+            recordMutation(StudentJournal.OP_UPDATE, existingReg, updatedStudent);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        for (StudentDataListener listener : listeners) {
+            listener.studentUpdated(index);
+        }
+    }
+    
+    // Remove student
+    public boolean removeStudent(String id) {
+        int index;
+        lock.writeLock().lock();
+        try {
+            index = id == null ? -1 : store.indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            String reg = store.get(index).getreg();
+            store.remove(index);
+            recordMutation(StudentJournal.OP_REMOVE, reg, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        for (StudentDataListener listener : listeners) {
+            listener.studentRemoved(index);
+        }
+        return true;
+    }
+    
+    // Hash lookup by ID (case-insensitive)
+    public Student findStudentById(String id) {
+        if (id == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return store.find(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // A held student's CGPA changed, from any thread that edited the student directly.
+    private void cgpaChanged(Student student) {
+        lock.writeLock().lock();
+        try {
+            store.cgpaChanged(student);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Binary search by ID over the sorted index - O(log N), leaves the student list untouched
+    public Student binarySearchById(String id) {
+        if (id == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return store.binarySearchById(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // All students whose ID falls between fromId and toId (inclusive), in ID order
+    public ArrayList<Student> findStudentsInIdRange(String fromId, String toId) {
+        if (String.CASE_INSENSITIVE_ORDER.compare(fromId, toId) > 0) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(store.findInIdRange(fromId, toId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Students in the given department and level (either may be null or blank to match
+    // any). With OBJECTS storage they are read from a secondary index, so the cost grows
+    // with the number of matches, not the number of students; COLUMNAR and MAPPED storage
+    // scan the department and level codes. Matching ignores case.
+    public List<Student> filterStudents(String department, String level) {
+        lock.readLock().lock();
+        try {
+            return store.filter(department, level);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Students whose name matches the query, best matches first, at most limit of them.
+    // Every word of the query must match a word of the name, as a prefix ("ade oko"
+    // finds "Adebayo Okonkwo") or with a typo or two ("chiamka" finds "Chiamaka").
+    public List<Student> searchByName(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return store.searchByName(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Distinct department names, sorted
+    public List<String> getDepartments() {
+        lock.readLock().lock();
+        try {
+            return store.getDepartments();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Distinct levels, sorted
+    public List<String> getLevels() {
+        lock.readLock().lock();
+        try {
+            return store.getLevels();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Reorder the student list by ID straight from the sorted index - O(N)
+    public void sortById() {
+        lock.writeLock().lock();
+        try {
+            store.sortById();
+            cachedStudents = null;
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        fireStudentsChanged();
+    }
+    
+    // Introsort by name over students[low..high] (inclusive)
+    public void quickSortByName(int low, int high) {
+        if (low >= high) {
+            return;
+        }
+        reorder(StudentStore.SortKey.NAME, low, high + 1, TaskProgress.NONE);
+    }
+    
+    // Sort the whole list by name. Returns false, leaving the order unchanged, if the
+    // sort was cancelled.
+    public boolean sortByName(TaskProgress progress) {
+        return reorder(StudentStore.SortKey.NAME, 0, Integer.MAX_VALUE, progress);
+    }
+    
+    // Merge sort by CGPA (highest first); large lists are sorted in parallel
+    public void sortByCGPA() {
+        sortByCGPA(TaskProgress.NONE);
+    }
+    
+    // As sortByCGPA(); returns false, leaving the order unchanged, if cancelled
+    public boolean sortByCGPA(TaskProgress progress) {
+        return reorder(StudentStore.SortKey.CGPA, 0, Integer.MAX_VALUE, progress);
+    }
+    
+    // Sort a copy of the list order positions [from, to) without holding the lock, so
+    // readers such as a table being painted are not held up for the length of the sort,
+    // then swap the copy in. If the list changed in the meantime, the sort is redone on
+    // a fresh copy under the lock. The sorts report progress as they go and stop early
+    // once cancelled, leaving the order as it was.
+    private boolean reorder(StudentStore.SortKey key, int from, int to, TaskProgress progress) {
+        StudentStore.Order copy;
+        long startVersion;
+        lock.readLock().lock();
+        try {
+            copy = store.copyOrder();
+            startVersion = version;
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        progress.update(0, copy.size());
+        if (!copy.sort(key, from, Math.min(to, copy.size()), progress)) {
+            return false;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            if (version != startVersion) {
+                copy = store.copyOrder();
+                if (!copy.sort(key, from, Math.min(to, copy.size()), progress)) {
+                    return false;
+                }
+            }
+            store.setOrder(copy);
+            cachedStudents = null;
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        progress.update(copy.size(), copy.size());
+        fireStudentsChanged();
+        return true;
+    }
+    
+    public void addDataListener(StudentDataListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeDataListener(StudentDataListener listener) {
+        listeners.remove(listener);
+    }
+    
+    private void fireStudentsChanged() {
+        for (StudentDataListener listener : listeners) {
+            listener.studentsChanged();
+        }
+    }
+    
+    // Calculate class statistics (kept up to date on every mutation, so this is O(1))
+    public Map<String, Double> calculateClassStatistics() {
+        Map<String, Double> stats = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("average", store.getAverage());
+            stats.put("highest", store.getHighest());
+            stats.put("lowest", store.getLowest());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+    
+    // Get top performer
+    public Student getTopPerformer() {
+        lock.readLock().lock();
+        try {
+            return store.getTopPerformer();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Rank by CGPA, 1 for the best; students with the same CGPA (to two decimal places)
+    // share a rank. -1 if there is no student with this ID. O(log N).
+    public int getRank(String id) {
+        if (id == null) {
+            return -1;
+        }
+        lock.readLock().lock();
+        try {
+            return store.rank(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // The k students with the highest CGPA, best first, without sorting the list
+    public List<Student> getTopStudents(int k) {
+        lock.readLock().lock();
+        try {
+            return store.top(k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // All students with minCgpa <= CGPA <= maxCgpa, highest first
+    public List<Student> findStudentsInCgpaRange(double minCgpa, double maxCgpa) {
+        lock.readLock().lock();
+        try {
+            return store.between(minCgpa, maxCgpa);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // CGPA at the given percentile (0-100, nearest rank, to two decimal places), e.g.
+    // 90 for the CGPA that 90% of students are at or below. O(log N).
+    public double getCgpaPercentile(double percentile) {
+        lock.readLock().lock();
+        try {
+            return store.percentile(percentile);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // File operations
+    // Queue the change for the persistence thread. The journal record is encoded now,
+    // while it still matches the student's current state.
+    private void recordMutation(byte op, String key, Student student) {
+        cachedStudents = null;
+        version++;
+        if (persistence == null) {
+            return;
+        }
+        if (journaled) {
+            try {
+                pendingRecords.add(StudentJournal.encode(op, key, student));
+            } catch (IOException e) {
+                System.err.println("Error encoding journal record: " + e.getMessage());
+                snapshotDue = true;
+            }
+        } else {
+            snapshotDue = true;
+        }
+        persistence.markDirty();
+    }
+    
+    // Runs on the persistence thread: append queued records as one batch, or write a
+    // full snapshot when one is due (the snapshot already contains the queued records)
+    private boolean writePending() throws IOException {
+        List<byte[]> records;
+        List<Student> snapshot = null;
+        byte[] catalogBytes = null;
+        lock.writeLock().lock();
+        try {
+            if (pendingRecords.isEmpty() && !snapshotDue && !catalogDue) {
+                return false;
+            }
+            if (catalogDue) {
+                catalogBytes = catalog.encode();
+                catalogDue = false;
+            }
+            records = new ArrayList<>(pendingRecords);
+            pendingRecords.clear();
+            if (journaled && journal.getRecordCount() + records.size() >= CHECKPOINT_INTERVAL) {
+                snapshotDue = true;
+            }
+            if (snapshotDue) {
+                snapshot = currentStudents();
+                snapshotDue = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        try {
+            if (catalogBytes != null) {
+                writeCatalog(catalogBytes);
+            }
+            if (snapshot == null) {
+                journal.appendAll(records);
+            } else {
+                writeSnapshot(snapshot);
+                journal.reset();
+            }
+        } catch (IOException e) {
+            // The journal may now be partly written, so fall back to a full snapshot
+            lock.writeLock().lock();
+            try {
+                snapshotDue = true;
+                catalogDue |= catalogBytes != null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        return true;
+    }
+    
+    // Fold the journal into a fresh snapshot and start an empty journal
+    public void checkpoint() {
+        if (persistence == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            snapshotDue = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        persistence.flush();
+    }
+    
+    // Hold back background writes during a bulk load. Changes are still recorded; call
+    // resumeWrites() afterwards (and flush() to wait for the write)
+    public void suspendWrites() {
+        if (persistence != null) {
+            persistence.suspend();
+        }
+    }
+    
+    public void resumeWrites() {
+        if (persistence != null) {
+            persistence.resume();
+        }
+    }
+    
+    // Block until every change made so far is on disk
+    public void flush() {
+        if (persistence != null) {
+            persistence.flush();
+        }
+    }
+    
+    // Flush and stop the persistence thread
+    public void close() {
+        if (persistence == null) {
+            return;
+        }
+        persistence.shutdown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down - the hook is running or has run
+        }
+    }
+    
+    public String getPersistenceStats() {
+        if (persistence == null) {
+            return "in memory only";
+        }
+        return String.format("%d writes, last %.1f ms, avg %.1f ms, max %.1f ms",
+                persistence.getWriteCount(), persistence.getLastWriteMillis(),
+                persistence.getAverageWriteMillis(), persistence.getMaxWriteMillis());
+    }
+    
+    // Write to a temporary file first so a failed save never clobbers the previous snapshot.
+    // MAPPED saves a records file and the other modes a data file; whichever is written
+    // replaces the other, so the directory never holds two different snapshots for long.
+    private void writeSnapshot(List<Student> snapshot) throws IOException {
+        boolean records = storageMode == StorageMode.MAPPED;
+        String fileName = records ? RECORDS_FILE : DATA_FILE;
+        Path target = dataDirectory.resolve(fileName);
+        // A records file may still be mapped after a failed replace (see below), so each
+        // one gets a name of its own rather than truncating one that is in use
+        Path temp = records
+                ? Files.createTempFile(dataDirectory, RECORDS_FILE + ".", ".tmp")
+                : dataDirectory.resolve(fileName + ".tmp");
+        try {
+            if (records) {
+                StudentRecordsFile.write(temp, snapshot);
+                attachSnapshot(temp, snapshot);
+            } else {
+                StudentCodec.write(temp, snapshot);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        // The store has already moved off the records file being replaced. Windows will not
+        // replace a file that is still mapped, which it may be until lists handed out earlier
+        // are collected; the move then fails and the snapshot is retried, the journal intact.
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(dataDirectory.resolve(records ? DATA_FILE : RECORDS_FILE));
+    }
+    
+    // Map the records file just written and move the store onto it, so students saved in
+    // it are read from the file again instead of held on the heap. Skipped for a snapshot
+    // that did not come from the store, such as a migrated legacy file.
+    private void attachSnapshot(Path recordsFile, List<Student> snapshot) throws IOException {
+        lock.writeLock().lock();
+        try {
+            StudentRecordsFile file = StudentRecordsFile.open(recordsFile, catalog.getCourses());
+            if (((MappedStudentStore) store).reattach(file, snapshot)) {
+                // Row numbers have changed under any sort working on a copy of the order
+                cachedStudents = null;
+                version++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void writeCatalog(byte[] bytes) throws IOException {
+        Path target = dataDirectory.resolve(COURSES_FILE);
+        Path temp = dataDirectory.resolve(COURSES_FILE + ".tmp");
+        try {
+            Files.write(temp, bytes);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private void loadData() {
+        List<Course> courses = catalog.getCourses();
+        Path dataFile = dataDirectory.resolve(DATA_FILE);
+        Path recordsFile = dataDirectory.resolve(RECORDS_FILE);
+        try {
+            if (!readOnly) {
+                deleteUnfinishedRecords();
+            }
+            boolean legacyLoaded = false;
+            if (Files.exists(dataFile) && StudentCodec.isLegacyFormat(dataFile)) {
+                if (readOnly) {
+                    // Migrating rewrites the directory, so read the students as they are
+                    List<Student> legacyStudents = readLegacyData(dataFile);
+                    if (legacyStudents != null) {
+                        legacyStudents.forEach(store::add);
+                    }
+                    legacyLoaded = true;
+                } else {
+                    migrateLegacyData(dataFile);
+                }
+            }
+            // If both files are there (a save was interrupted, or students.dat was written
+            // by StudentGenerator), the newer one is the current snapshot
+            boolean hasData = !legacyLoaded && Files.exists(dataFile);
+            boolean hasRecords = !legacyLoaded && Files.exists(recordsFile);
+            boolean recordsCurrent = hasRecords && (!hasData
+                    || Files.getLastModifiedTime(recordsFile).compareTo(Files.getLastModifiedTime(dataFile)) >= 0);
+            
+            if (storageMode == StorageMode.MAPPED && readOnly) {
+                // Where a writable session would convert or rewrite the file first, the
+                // students are read onto the heap instead
+                StudentRecordsFile file = recordsCurrent ? StudentRecordsFile.open(recordsFile, courses) : null;
+                if (file != null && !file.creditsChanged()) {
+                    ((MappedStudentStore) store).attach(file);
+                } else if (recordsCurrent) {
+                    StudentRecordsFile.read(recordsFile, courses, store::add);
+                } else if (hasData) {
+                    StudentCodec.read(dataFile, courses, store::add);
+                }
+            } else if (storageMode == StorageMode.MAPPED) {
+                if (hasData && !recordsCurrent) {
+                    convertToRecords(dataFile, recordsFile);
+                    recordsCurrent = true;
+                }
+                if (recordsCurrent) {
+                    StudentRecordsFile file = StudentRecordsFile.open(recordsFile, courses);
+                    if (file.creditsChanged()) {
+                        rewriteRecords(recordsFile, courses);
+                        file = StudentRecordsFile.open(recordsFile, courses);
+                    }
+                    ((MappedStudentStore) store).attach(file);
+                }
+            } else if (recordsCurrent) {
+                StudentRecordsFile.read(recordsFile, courses, store::add);
+            } else if (hasData) {
+                StudentCodec.read(dataFile, courses, store::add);
+            }
+            if (!hasData && !hasRecords) {
+                System.out.println("Data file not found. Starting with empty list.");
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading data: " + e.getMessage());
+        }
+        
+        // A torn tail may be a record the owning process is still writing
+        int replayed = journal.replay(store, courses, !readOnly);
+        if (replayed > 0) {
+            System.out.println("Replayed " + replayed + " journal records.");
+        }
+    }
+    
+    // One-time conversion of a data file written with ObjectOutputStream. The original
+    // is kept as students.dat.legacy and replaced by a file in the binary format.
+    private void migrateLegacyData(Path dataFile) throws IOException {
+        List<Student> migrated = readLegacyData(dataFile);
+        Files.move(dataFile, dataDirectory.resolve(LEGACY_BACKUP_FILE), StandardCopyOption.REPLACE_EXISTING);
+        if (migrated == null) {
+            System.err.println("Legacy data file could not be read; kept as " + LEGACY_BACKUP_FILE);
+            return;
+        }
+        // Loaded back from the new snapshot, so results share the catalog's Course objects
+        writeSnapshot(migrated);
+        System.out.println("Migrated " + migrated.size() + " students from legacy data file.");
+    }
+    
+    // The students in a data file written with ObjectOutputStream, or null if it cannot be read
+    @SuppressWarnings("unchecked")
+    private static List<Student> readLegacyData(Path dataFile) {
+        ArrayList<Student> legacyStudents;
+        try (ObjectInputStream ois = new LegacyObjectInputStream(new BufferedInputStream(Files.newInputStream(dataFile)))) {
+            legacyStudents = (ArrayList<Student>) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("Error loading legacy data: " + e.getMessage());
+            return null;
+        }
+        
+        // Very old files were written before Person was serializable and carry no name or ID
+        int skipped = 0;
+        List<Student> students = new ArrayList<>();
+        for (Student student : legacyStudents) {
+            if (student.getreg() == null || student.getName() == null) {
+                skipped++;
+            } else {
+                students.add(student);
+            }
+        }
+        if (skipped > 0) {
+            System.out.println(skipped + " students without an ID were skipped from the legacy data file.");
+        }
+        return students;
+    }
+    
+    // Records files left by snapshots that were interrupted or could not replace the last one
+    private void deleteUnfinishedRecords() throws IOException {
+        if (!Files.isDirectory(dataDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> unfinished = Files.newDirectoryStream(dataDirectory, RECORDS_FILE + ".*tmp*")) {
+            for (Path file : unfinished) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+    
+    // One-time conversion of students.dat for MAPPED mode. Students are streamed from one
+    // file to the other, so the conversion does not hold the class in memory either.
+    private void convertToRecords(Path dataFile, Path recordsFile) throws IOException {
+        Path temp = dataDirectory.resolve(RECORDS_FILE + ".tmp");
+        List<Course> courses = catalog.getCourses();
+        int count;
+        try {
+            count = StudentRecordsFile.write(temp, sink -> StudentCodec.read(dataFile, courses, sink));
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, recordsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(dataFile);
+        System.out.println("Converted " + count + " students to " + RECORDS_FILE + ".");
+    }
+    
+    // Rewrite students.records after a course's credit hours changed, so the CGPAs saved
+    // in it are worked out again. Other files hold no CGPAs and are read as they are.
+    private void rewriteRecords(Path recordsFile, List<Course> courses) throws IOException {
+        Path temp = dataDirectory.resolve(RECORDS_FILE + ".tmp");
+        int count;
+        try {
+            count = StudentRecordsFile.write(temp, sink -> StudentRecordsFile.read(recordsFile, courses, sink));
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, recordsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.println("Course credits changed; recalculated " + count + " students in " + RECORDS_FILE + ".");
+    }
+    
+    // Legacy files name the model classes by their old com.capstone package. Map them onto
+    // the classes here; the field layout is unchanged, so the local descriptor is used as is.
+    private static class LegacyObjectInputStream extends ObjectInputStream {
+        private static final String LEGACY_PACKAGE = "com.capstone.";
+        
+        LegacyObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+        
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            ObjectStreamClass descriptor = super.readClassDescriptor();
+            String name = descriptor.getName();
+            if (name.startsWith(LEGACY_PACKAGE) && name.indexOf('.', LEGACY_PACKAGE.length()) < 0) {
+                Class<?> moved = Class.forName(Student.class.getPackage().getName() + "."
+                        + name.substring(LEGACY_PACKAGE.length()));
+                return ObjectStreamClass.lookup(moved);
+            }
+            return descriptor;
+        }
+    }
+    
+    // Getters
+    public int getStudentCount() {
+        lock.readLock().lock();
+        try {
+            return store.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public Student getStudentAt(int index) {
+        lock.readLock().lock();
+        try {
+            return store.get(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Read-only snapshot of the student list. It is shared between callers until the
+    // next change, so calling this repeatedly does not copy the list each time. The
+    // students in it are the held ones, read by other threads without the lock, so
+    // change a student through updateStudent or addResults with a new Student instead
+    // of editing one in place.
+    public List<Student> getStudents() {
+        List<Student> current = cachedStudents;
+        if (current != null) {
+            return current;
+        }
+        lock.readLock().lock();
+        try {
+            return currentStudents();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Caller holds the read or write lock
+    private List<Student> currentStudents() {
+        List<Student> current = cachedStudents;
+        if (current == null) {
+            current = store.snapshot();
+            cachedStudents = current;
+        }
+        return current;
+    }
+    
+    public ArrayList<Course> getCourses() {
+        lock.readLock().lock();
+        try {
+            return catalog.getCourses();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Catalog lookup by course code (case-insensitive), or null
+    public Course findCourse(String code) {
+        lock.readLock().lock();
+        try {
+            return catalog.find(code);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Counts edits to the course catalog, so a course list read earlier can be checked
+    public long getCatalogRevision() {
+        lock.readLock().lock();
+        try {
+            return catalog.getRevision();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Add a course to the catalog and save courses.dat. No student file is rewritten.
+    public Course addCourse(String code, String name, int creditHours) throws StudentManagementException {
+        checkCourse(code, name, creditHours);
+        Course course;
+        lock.writeLock().lock();
+        try {
+            if (catalog.find(code) != null) {
+                throw new StudentManagementException("Course " + code + " already exists!");
+            }
+            course = new Course(code.trim(), name.trim(), creditHours);
+            catalog.add(course);
+            catalogChanged();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return course;
+    }
+    
+    // Rename a course or change its credit hours. Results hold the catalog's Course, so
+    // every transcript shows the change at once and only courses.dat is rewritten. New
+    // credit hours change the CGPA of each student taking the course.
+    public void updateCourse(String code, String name, int creditHours) throws StudentManagementException {
+        checkCourse(code, name, creditHours);
+        lock.writeLock().lock();
+        try {
+            Course course = catalog.find(code);
+            if (course == null) {
+                throw new StudentManagementException("Course " + code + " not found!");
+            }
+            boolean creditsChanged = course.getCreditHours() != creditHours;
+            catalog.update(course, name.trim(), creditHours);
+            if (creditsChanged) {
+                recalculateCgpas(course);
+            }
+            cachedStudents = null;
+            version++;
+            catalogChanged();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Course names show up in every view of a transcript, so redraw everything
+        fireStudentsChanged();
+    }
+    
+    private static void checkCourse(String code, String name, int creditHours) throws StudentManagementException {
+        if (code == null || code.trim().isEmpty() || name == null || name.trim().isEmpty()) {
+            throw new StudentManagementException("Course code and name are required!");
+        }
+        // Saved as one byte in the student files
+        if (creditHours < 0 || creditHours > Byte.MAX_VALUE) {
+            throw new StudentManagementException("Credit hours must be between 0 and " + Byte.MAX_VALUE + "!");
+        }
+    }
+    
+    // Caller holds the write lock
+    private void catalogChanged() {
+        if (persistence != null) {
+            catalogDue = true;
+            persistence.markDirty();
+        }
+    }
+    
+    // Work out again the CGPA of every student with a result for course, after its credit
+    // hours changed. Caller holds the write lock. Returns the number of students changed.
+    private int recalculateCgpas(Course course) {
+        int changed = 0;
+        for (int i = 0; i < store.size(); i++) {
+            Student student = store.get(i);
+            if (student.hasResultFor(course)) {
+                // A held student (OBJECTS) adds up its totals again; the copies the other
+                // stores hand out are built with the new credit hours already
+                student.recalculateCgpa();
+                store.set(i, student);
+                changed++;
+            }
+        }
+        if (changed > 0 && storageMode == StorageMode.MAPPED && persistence != null) {
+            // students.records saves each CGPA, so write it out again
+            snapshotDue = true;
+        }
+        return changed;
+    }
+}
+
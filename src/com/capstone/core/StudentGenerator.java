@@ -0,0 +1,172 @@
+package com.capstone.core;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+// Deterministic synthetic students for load testing. The same seed, count and course
+// catalog always produce the same students in the same order. Students are produced
+// one at a time, so a population can be streamed into a StudentDataManager or straight
+// into a data file without building a list of it first.
+//
+// Usage: java com.capstone.core.StudentGenerator <count> [seed] [output file]
+public class StudentGenerator implements Iterator<Student> {
+    static final long DEFAULT_SEED = 42;
+
+    // Session the 100 Level students enrolled in; each level above entered a year earlier
+    private static final int ENTRY_YEAR = 2024;
+    // Serials run from here up to 9999999 within each entry year
+    private static final int FIRST_SERIAL = 1300000;
+    private static final int MAX_SERIAL = 9999999;
+
+    private static final String[] LEVELS = {"100 Level", "200 Level", "300 Level", "400 Level", "500 Level"};
+    // Fewer students reach the later levels
+    private static final int[] LEVEL_WEIGHTS = {28, 24, 20, 16, 12};
+
+    private static final String[] DEPARTMENTS = {"Computer Science", "Cyber Security", "Software Engineering",
+        "Information Technology", "Information Systems"};
+    private static final int[] DEPARTMENT_WEIGHTS = {30, 22, 20, 15, 13};
+
+    private static final String[] SURNAMES = {"Okafor", "Nwachukwu", "Eze", "Okonkwo", "Nwafor", "Njoku",
+        "Ibe", "Uche", "Obi", "Chukwu", "Adeyemi", "Ogunleye", "Balogun", "Adebayo", "Bello", "Abubakar",
+        "Ibrahim", "Musa", "Okeke", "Onyekachi", "Nnaji", "Ezeh", "Agu", "Anyanwu", "Ude", "Nnamdi",
+        "Olawale", "Afolabi", "Okoro", "Emeka", "Ogbu", "Ekwueme"};
+    private static final String[] GIVEN_NAMES = {"Chinedu", "Chinazum", "Tochukwu", "Victor", "Emmanuel",
+        "Divine", "Stephen", "Nelson", "Michael", "Daniel", "Ugochukwu", "Kosarachi", "Chijindu", "Obioma",
+        "Bruno", "Prosper", "Amaka", "Ngozi", "Chiamaka", "Adaeze", "Ifeoma", "Nneka", "Blessing", "Grace",
+        "Esther", "Favour", "Joseph", "David", "Samuel", "Precious", "Chisom", "Somtochukwu", "Funmilayo",
+        "Aisha", "Fatima", "Yusuf", "Tunde", "Kelechi", "Ebuka", "Oluchi"};
+
+    private static final int MIN_COURSES = 5;
+
+    private final SplittableRandom random;
+    private final long count;
+    private final Course[] catalog;
+    private final int[] courseOrder;
+    private final int[] nextSerial = new int[LEVELS.length];
+    private final StringBuilder text = new StringBuilder(48);
+    private long produced;
+
+    public StudentGenerator(long seed, long count, List<Course> catalog) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+        this.random = new SplittableRandom(seed);
+        this.count = count;
+        this.catalog = catalog.toArray(new Course[0]);
+        this.courseOrder = new int[this.catalog.length];
+        for (int i = 0; i < courseOrder.length; i++) {
+            courseOrder[i] = i;
+        }
+        Arrays.fill(nextSerial, FIRST_SERIAL);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return produced < count;
+    }
+
+    @Override
+    public Student next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        produced++;
+
+        int level = pick(LEVEL_WEIGHTS);
+        String department = DEPARTMENTS[pick(DEPARTMENT_WEIGHTS)];
+        Student student = new Student(nextName(), nextReg(level), LEVELS[level], department);
+
+        // Each student has an overall ability; course grades scatter around it
+        double ability = 58 + 12 * random.nextDouble(-1.0, 1.0) + 8 * gaussian();
+        // A catalog of fewer than MIN_COURSES courses gives every student all of them
+        int taken = Math.min(catalog.length, MIN_COURSES + random.nextInt(Math.max(1, catalog.length - MIN_COURSES + 1)));
+        for (int i = 0; i < taken; i++) {
+            // Partial Fisher-Yates shuffle: courseOrder[0..i] are the courses picked so far
+            int j = i + random.nextInt(courseOrder.length - i);
+            int course = courseOrder[j];
+            courseOrder[j] = courseOrder[i];
+            courseOrder[i] = course;
+
+            long grade = Math.round(ability + 10 * gaussian());
+            student.addResult(catalog[course], Math.max(0, Math.min(100, grade)));
+        }
+        return student;
+    }
+
+    // Entry year followed by a 7-digit serial, e.g. 20231392382
+    private String nextReg(int level) {
+        int serial = nextSerial[level]++;
+        if (serial > MAX_SERIAL) {
+            throw new IllegalStateException("Ran out of reg numbers for " + LEVELS[level]);
+        }
+        text.setLength(0);
+        return text.append(ENTRY_YEAR - level).append(serial).toString();
+    }
+
+    // Surname, given name and usually a middle name, like the sample data
+    private String nextName() {
+        text.setLength(0);
+        text.append(SURNAMES[random.nextInt(SURNAMES.length)])
+            .append(' ').append(GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)]);
+        if (random.nextInt(10) < 8) {
+            text.append(' ').append(GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)]);
+        }
+        return text.toString();
+    }
+
+    private int pick(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // Approximately standard normal (sum of 12 uniforms), cheap and deterministic
+    private double gaussian() {
+        double sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += random.nextDouble();
+        }
+        return sum - 6;
+    }
+
+    // Add count generated students to the manager; returns how many were added
+    public static int populate(StudentDataManager manager, long seed, int count) {
+        return manager.addStudents(new StudentGenerator(seed, count, manager.getCourses()));
+    }
+
+    // Stream count generated students into a data file without keeping them in memory
+    public static void writeDataFile(Path file, long seed, long count, List<Course> catalog) throws IOException {
+        StudentGenerator generator = new StudentGenerator(seed, count, catalog);
+        try (StudentCodec.Writer writer = new StudentCodec.Writer(file, catalog)) {
+            while (generator.hasNext()) {
+                writer.append(generator.next());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java com.capstone.core.StudentGenerator <count> [seed] [output file]");
+            System.exit(1);
+        }
+        long count = Long.parseLong(args[0]);
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        Path file = Paths.get(args.length > 2 ? args[2] : "students.dat");
+
+        long start = System.nanoTime();
+        writeDataFile(file, seed, count, StudentDataManager.sampleCourses());
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Wrote %d students to %s in %.1f s (%.0f students/s)%n",
+                count, file, seconds, count / Math.max(seconds, 1e-9));
+    }
+}
@@ -0,0 +1,60 @@
+package com.capstone.core;
+
+import java.util.Collection;
+import java.util.HashMap;
+
+// Shared instances of the values repeated across students. Every student in a class
+// carries one of a handful of departments and levels, and every result one of a few
+// dozen courses, but students read from a file or typed in hold their own copies.
+// Swapping those for one instance per value keeps the memory per student down to the
+// reg number, name and grades, and lets equal values compare by reference.
+class StudentInterner {
+    private final StringDictionary departments = new StringDictionary();
+    private final StringDictionary levels = new StringDictionary();
+    private final CourseCatalog catalog;
+    // CourseCatalog.codeKey -> shared Course for codes not in the catalog; the first
+    // Course seen for a code is kept
+    private final HashMap<String, Course> otherCourses = new HashMap<>();
+
+    StudentInterner(CourseCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    String department(String department) {
+        return departments.intern(department);
+    }
+
+    String level(String level) {
+        return levels.intern(level);
+    }
+
+    // The shared Course with course's code: the catalog's, or the first seen for a code
+    // the catalog does not have. A Course with different credit hours is kept as it is,
+    // since swapping it would change the CGPA of the student holding it.
+    Course course(Course course) {
+        Course shared = catalog.find(course.getCourseCode());
+        if (shared == null) {
+            shared = otherCourses.putIfAbsent(CourseCatalog.codeKey(course.getCourseCode()), course);
+        }
+        if (shared == null || shared.getCreditHours() != course.getCreditHours()) {
+            return course;
+        }
+        return shared;
+    }
+
+    // Point student's department, level and results at the shared instances, in place
+    void intern(Student student) {
+        student.setDepartment(department(student.getDepartment()));
+        student.setlevel(level(student.getlevel()));
+        internCourses(student.getResults());
+    }
+
+    void internCourses(Collection<Result> results) {
+        for (Result result : results) {
+            Course shared = course(result.getCourse());
+            if (shared != result.getCourse()) {
+                result.setCourse(shared);
+            }
+        }
+    }
+}
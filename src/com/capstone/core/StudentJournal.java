@@ -0,0 +1,227 @@
+package com.capstone.core;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+// Append-only log of student mutations. Each record is written as
+// [length][crc32][payload] so a torn write at the tail can be detected and dropped.
+class StudentJournal implements Closeable {
+    static final byte OP_ADD = 1;
+    static final byte OP_UPDATE = 2;
+    static final byte OP_REMOVE = 3;
+    // Largest record written or replayed; a student with a hundred results takes a few
+    // kilobytes. encode() refuses anything bigger, and the caller saves a snapshot instead.
+    private static final int MAX_RECORD_LENGTH = 16 << 20;
+
+    private final File file;
+    private FileOutputStream fileOut;
+    private DataOutputStream out;
+    private int recordCount;
+
+    public StudentJournal(String path) {
+        this.file = new File(path);
+    }
+
+    // Build a complete framed record, ready to be appended later. For OP_REMOVE the student may be null.
+    public static byte[] encode(byte op, String key, Student student) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        DataOutputStream payload = new DataOutputStream(buffer);
+        payload.writeInt(0); // length and crc placeholders
+        payload.writeInt(0);
+        payload.writeByte(op);
+        payload.writeUTF(key);
+        if (op != OP_REMOVE) {
+            writeStudent(payload, student);
+        }
+        payload.flush();
+
+        byte[] record = buffer.toByteArray();
+        int length = record.length - 8;
+        if (length > MAX_RECORD_LENGTH) {
+            throw new IOException("Journal record for " + key + " is too large (" + length + " bytes)");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record, 8, length);
+        putInt(record, 0, length);
+        putInt(record, 4, (int) crc.getValue());
+        return record;
+    }
+
+    // Group commit: write a batch of encoded records and sync once
+    public void appendAll(List<byte[]> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        DataOutputStream stream = openForAppend();
+        for (byte[] record : records) {
+            stream.write(record);
+        }
+        stream.flush();
+        fileOut.getFD().sync();
+        recordCount += records.size();
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    // Re-apply every intact record on top of a loaded snapshot. Returns the number applied.
+    // An incomplete tail is cut off the file, or with truncateTail false only skipped.
+    int replay(StudentStore students, List<Course> courses, boolean truncateTail) {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        Map<String, Course> courseLookup = CourseCatalog.byCode(courses);
+
+        int applied = 0;
+        long validLength = 0;
+        long fileLength = file.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                int expectedCrc = in.readInt();
+                // A corrupt length must not become a huge allocation; the record has to
+                // fit in what is left of the file
+                if (length <= 0 || length > MAX_RECORD_LENGTH || length > fileLength - validLength - 8) {
+                    break;
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+
+                CRC32 crc = new CRC32();
+                crc.update(bytes, 0, bytes.length);
+                if ((int) crc.getValue() != expectedCrc) {
+                    break;
+                }
+
+                apply(new DataInputStream(new ByteArrayInputStream(bytes)), students, courseLookup);
+                applied++;
+                validLength += 8 + length;
+            }
+        } catch (EOFException e) {
+            // Torn record at the tail - everything before it is still valid
+        } catch (IOException e) {
+            System.err.println("Error replaying journal: " + e.getMessage());
+        }
+
+        if (validLength < file.length() && truncateTail) {
+            System.err.println("Discarding incomplete journal tail after " + applied + " records.");
+            truncate(validLength);
+        }
+        recordCount = applied;
+        return applied;
+    }
+
+    // Drop all records once they have been folded into a snapshot
+    public void reset() throws IOException {
+        close();
+        truncate(0);
+        recordCount = 0;
+    }
+
+    public int getRecordCount() { return recordCount; }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+            fileOut = null;
+        }
+    }
+
+    private DataOutputStream openForAppend() throws IOException {
+        if (out == null) {
+            fileOut = new FileOutputStream(file, true);
+            out = new DataOutputStream(new BufferedOutputStream(fileOut));
+        }
+        return out;
+    }
+
+    private void truncate(long length) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
+        } catch (IOException e) {
+            System.err.println("Error truncating journal: " + e.getMessage());
+        }
+    }
+
+    private void apply(DataInputStream in, StudentStore students, Map<String, Course> courseLookup) throws IOException {
+        byte op = in.readByte();
+        String key = in.readUTF();
+        int existing = students.indexOf(key);
+
+        switch (op) {
+            case OP_ADD:
+                if (existing < 0) {
+                    students.add(readStudent(in, courseLookup));
+                }
+                break;
+            case OP_UPDATE:
+                if (existing >= 0) {
+                    students.set(existing, readStudent(in, courseLookup));
+                }
+                break;
+            case OP_REMOVE:
+                if (existing >= 0) {
+                    students.remove(existing);
+                }
+                break;
+            default:
+                throw new IOException("Unknown journal operation: " + op);
+        }
+    }
+
+    private static void writeStudent(DataOutputStream out, Student student) throws IOException {
+        out.writeUTF(student.getreg());
+        out.writeUTF(student.getName());
+        out.writeUTF(student.getlevel());
+        out.writeUTF(student.getDepartment());
+
+        List<Result> results = student.getResults();
+        out.writeShort(results.size());
+        for (Result result : results) {
+            Course course = result.getCourse();
+            out.writeUTF(course.getCourseCode());
+            out.writeUTF(course.getCourseName());
+            out.writeByte(course.getCreditHours());
+            out.writeDouble(result.getGrade());
+        }
+    }
+
+    private static Student readStudent(DataInputStream in, Map<String, Course> courseLookup) throws IOException {
+        String reg = in.readUTF();
+        String name = in.readUTF();
+        String level = in.readUTF();
+        String department = in.readUTF();
+        Student student = new Student(name, reg, level, department);
+
+        int resultCount = in.readUnsignedShort();
+        List<Result> results = new ArrayList<>(resultCount);
+        for (int i = 0; i < resultCount; i++) {
+            String code = in.readUTF();
+            String courseName = in.readUTF();
+            int credits = in.readUnsignedByte();
+            double grade = in.readDouble();
+
+            Course course = courseLookup.get(CourseCatalog.codeKey(code));
+            if (course == null) {
+                course = new Course(code, courseName, credits);
+                courseLookup.put(CourseCatalog.codeKey(code), course);
+            }
+            results.add(new Result(course, grade));
+        }
+        student.addResults(results);
+        return student;
+    }
+}
@@ -1,4 +1,4 @@
-package com.capstone;
+package com.capstone.core;
 
 public class StudentManagementException extends Exception {
     public StudentManagementException(String message) {
@@ -0,0 +1,658 @@
+package com.capstone.core;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+// Fixed-layout student records file (students.records), read through memory mapping.
+// Every student is a RECORD_SIZE-byte record, so student i is found by arithmetic and
+// opening the file only reads the header and the small dictionary section; records are
+// paged in by the OS as they are touched and never copied onto the heap as a whole.
+//
+//   header       : magic "SSPR" (int), version (short), record size (short), record
+//                  count (int), reg table capacity (int), offsets of the overflow,
+//                  dictionary, reg table and reg order sections (longs)
+//   records      : record count x RECORD_SIZE bytes, from HEADER_SIZE
+//   overflow     : strings and result lists that do not fit in their record
+//   dictionaries : departments and levels (count, then string and student count each),
+//                  courses (count, then code, name, credit hours), CGPA sum and histogram
+//   reg table    : open addressing over the lower-cased reg's hash; row + 1, 0 if empty
+//   reg order    : rows sorted by reg, ignoring case
+//
+// A record holds reg and name as string fields (a byte length and the UTF-8 bytes, or
+// OVERFLOW and the overflow offset of an int length and the bytes), department and level
+// codes, CGPA, the reg hash, a name letter mask for name search, and up to INLINE_RESULTS
+// results as (course index, grade in hundredths) shorts. Longer result lists, and lists
+// with a grade that needs the full double, go to the overflow section as (course index,
+// grade double). Numbers are big-endian.
+class StudentRecordsFile {
+    static final int MAGIC = 0x53535052;
+    static final short VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 192;
+    private static final int REG = 0;
+    private static final int REG_WIDTH = 24;
+    private static final int NAME = 24;
+    private static final int NAME_WIDTH = 64;
+    private static final int DEPARTMENT = 88;
+    private static final int LEVEL = 90;
+    private static final int CGPA = 92;
+    private static final int REG_HASH = 100;
+    private static final int NAME_LETTERS = 104;
+    private static final int RESULT_COUNT = 108;
+    private static final int FLAGS = 110;
+    private static final int RESULTS = 112;
+    static final int INLINE_RESULTS = (RECORD_SIZE - RESULTS) / 4;
+
+    private static final int OVERFLOW = 0xFF;
+    private static final short RESULTS_IN_OVERFLOW = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final int count;
+    private final Region records;
+    private final Region overflow;
+    private final Region regTable;
+    private final Region regOrder;
+    private final int regTableMask;
+    private final String[] departments;
+    private final int[] departmentCounts;
+    private final String[] levels;
+    private final int[] levelCounts;
+    private final Course[] courses;
+    private final boolean creditsChanged;
+    private final int[] histogram;
+    private final double cgpaSum;
+
+    private StudentRecordsFile(int count, Region records, Region overflow, Region regTable,
+                               Region regOrder, int regTableCapacity, ByteBuffer dictionaries,
+                               Map<String, Course> catalogByCode) {
+        this.count = count;
+        this.records = records;
+        this.overflow = overflow;
+        this.regTable = regTable;
+        this.regOrder = regOrder;
+        this.regTableMask = regTableCapacity - 1;
+
+        departments = new String[dictionaries.getInt()];
+        departmentCounts = new int[departments.length];
+        for (int i = 0; i < departments.length; i++) {
+            departments[i] = getString(dictionaries);
+            departmentCounts[i] = dictionaries.getInt();
+        }
+        levels = new String[dictionaries.getInt()];
+        levelCounts = new int[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = getString(dictionaries);
+            levelCounts[i] = dictionaries.getInt();
+        }
+        courses = new Course[dictionaries.getInt()];
+        boolean changed = false;
+        for (int i = 0; i < courses.length; i++) {
+            String code = getString(dictionaries);
+            String name = getString(dictionaries);
+            int credits = dictionaries.get() & 0xFF;
+            Course course = catalogByCode.get(CourseCatalog.codeKey(code));
+            courses[i] = course != null ? course : new Course(code, name, credits);
+            changed |= course != null && course.getCreditHours() != credits;
+        }
+        creditsChanged = changed;
+        cgpaSum = dictionaries.getDouble();
+        histogram = new int[CgpaRankIndex.BUCKETS];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = dictionaries.getInt();
+        }
+    }
+
+    // Map a records file. Courses already in the catalog are reused, as StudentCodec does.
+    static StudentRecordsFile open(Path file, List<Course> catalog) throws IOException {
+        Map<String, Course> catalogByCode = CourseCatalog.byCode(catalog);
+
+        // The mappings stay valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a student records file: " + file);
+            }
+            short version = header.getShort();
+            if (version > VERSION) {
+                throw new IOException("Unsupported records file version " + version);
+            }
+            int recordSize = header.getShort();
+            if (recordSize != RECORD_SIZE) {
+                throw new IOException("Unexpected record size " + recordSize + " in " + file);
+            }
+            int count = header.getInt();
+            int regTableCapacity = header.getInt();
+            long overflowOffset = header.getLong();
+            long dictionaryOffset = header.getLong();
+            long regTableOffset = header.getLong();
+            long regOrderOffset = header.getLong();
+            if (regOrderOffset + 4L * count > channel.size()) {
+                throw new IOException("Truncated records file: " + file);
+            }
+
+            ByteBuffer dictionaries = ByteBuffer.allocate((int) (regTableOffset - dictionaryOffset));
+            readFully(channel, dictionaries, dictionaryOffset);
+            dictionaries.flip();
+
+            return new StudentRecordsFile(count,
+                    new Region(channel, HEADER_SIZE, (long) count * RECORD_SIZE, RECORD_SIZE),
+                    new Region(channel, overflowOffset, dictionaryOffset - overflowOffset, 1),
+                    new Region(channel, regTableOffset, 4L * regTableCapacity, 4),
+                    new Region(channel, regOrderOffset, 4L * count, 4),
+                    regTableCapacity, dictionaries, catalogByCode);
+        }
+    }
+
+    // Hand each student to sink in file order, for loading the file into another store.
+    // Returns the number of students read.
+    static int read(Path file, List<Course> catalog, Consumer<Student> sink) throws IOException {
+        StudentRecordsFile records = open(file, catalog);
+        for (int row = 0; row < records.count; row++) {
+            sink.accept(records.student(row));
+        }
+        return records.count;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Truncated records file");
+            }
+        }
+    }
+
+    // Reading
+
+    int count() {
+        return count;
+    }
+
+    private static long at(int row) {
+        return (long) row * RECORD_SIZE;
+    }
+
+    String reg(int row) {
+        return string(at(row) + REG);
+    }
+
+    String name(int row) {
+        return string(at(row) + NAME);
+    }
+
+    int regHash(int row) {
+        return records.getInt(at(row) + REG_HASH);
+    }
+
+    int nameLetters(int row) {
+        return records.getInt(at(row) + NAME_LETTERS);
+    }
+
+    int department(int row) {
+        return records.getShort(at(row) + DEPARTMENT);
+    }
+
+    int level(int row) {
+        return records.getShort(at(row) + LEVEL);
+    }
+
+    double cgpa(int row) {
+        return records.getDouble(at(row) + CGPA);
+    }
+
+    private String string(long position) {
+        int length = records.getByte(position) & 0xFF;
+        byte[] bytes;
+        if (length == OVERFLOW) {
+            long offset = records.getLong(position + 1);
+            bytes = new byte[overflow.getInt(offset)];
+            overflow.get(offset + 4, bytes);
+        } else {
+            bytes = new byte[length];
+            records.get(position + 1, bytes);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // A new Student with the record's details and results
+    Student student(int row) {
+        long record = at(row);
+        Student student = new Student(name(row), reg(row), levels[level(row)], departments[department(row)]);
+        int resultCount = records.getShort(record + RESULT_COUNT) & 0xFFFF;
+        if (resultCount == 0) {
+            return student;
+        }
+        List<Result> results = new ArrayList<>(resultCount);
+        if ((records.getShort(record + FLAGS) & RESULTS_IN_OVERFLOW) != 0) {
+            long offset = records.getLong(record + RESULTS);
+            for (int i = 0; i < resultCount; i++) {
+                long entry = offset + i * 10L;
+                results.add(new Result(courses[overflow.getShort(entry)], overflow.getDouble(entry + 2)));
+            }
+        } else {
+            for (int i = 0; i < resultCount; i++) {
+                long entry = record + RESULTS + i * 4L;
+                results.add(new Result(courses[records.getShort(entry)], records.getShort(entry + 2) / 100.0));
+            }
+        }
+        student.addResults(results);
+        return student;
+    }
+
+    // Row of the student with this reg (ignoring case), or -1
+    int find(String reg) {
+        String key = reg.toLowerCase(Locale.ROOT);
+        int hash = key.hashCode();
+        for (int i = ColumnarStudentStore.home(hash, regTableMask); ; i = (i + 1) & regTableMask) {
+            int entry = regTable.getInt(4L * i);
+            if (entry == 0) {
+                return -1;
+            }
+            int row = entry - 1;
+            if (regHash(row) == hash && reg(row).toLowerCase(Locale.ROOT).equals(key)) {
+                return row;
+            }
+        }
+    }
+
+    // The row at position i of the rows sorted by reg
+    int rowInRegOrder(int i) {
+        return regOrder.getInt(4L * i);
+    }
+
+    String[] departments() {
+        return departments;
+    }
+
+    int[] departmentCounts() {
+        return departmentCounts;
+    }
+
+    String[] levels() {
+        return levels;
+    }
+
+    int[] levelCounts() {
+        return levelCounts;
+    }
+
+    int[] histogram() {
+        return histogram;
+    }
+
+    double cgpaSum() {
+        return cgpaSum;
+    }
+
+    // A catalog course has other credit hours than when the file was written, so the
+    // CGPAs and histogram saved in it are out of date
+    boolean creditsChanged() {
+        return creditsChanged;
+    }
+
+    // Writing
+
+    // Feeds the students to write() one at a time, in order
+    interface StudentSource {
+        void forEach(Consumer<Student> sink) throws IOException;
+    }
+
+    static int write(Path file, Iterable<Student> students) throws IOException {
+        return write(file, students::forEach);
+    }
+
+    // Write students to file in order. Strings and results are streamed into place; only
+    // the reg numbers are held on the heap, to build the reg table and reg order at the end.
+    static int write(Path file, StudentSource students) throws IOException {
+        Path overflowFile = file.resolveSibling(file.getFileName() + ".overflow");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream overflow = new DataOutputStream(new BufferedOutputStream(
+                     Files.newOutputStream(overflowFile), BUFFER_SIZE))) {
+            Writer writer = new Writer(channel, overflow);
+            try {
+                students.forEach(student -> {
+                    try {
+                        writer.add(student);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            overflow.flush();
+            writer.finish(overflowFile);
+            channel.force(true);
+            return writer.count;
+        } finally {
+            Files.deleteIfExists(overflowFile);
+        }
+    }
+
+    private static class Writer {
+        private final FileChannel channel;
+        private final DataOutputStream overflow;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * (BUFFER_SIZE / RECORD_SIZE));
+        private long overflowSize;
+        private int count;
+
+        private final StringDictionary departments = new StringDictionary();
+        private final StringDictionary levels = new StringDictionary();
+        private int[] departmentCounts = new int[16];
+        private int[] levelCounts = new int[16];
+        private final Map<String, Integer> courseCodes = new HashMap<>();
+        private final List<Course> courses = new ArrayList<>();
+        private final CgpaHistogram histogram = new CgpaHistogram();
+        private String[] regs = new String[1024];
+        private int[] regHashes = new int[1024];
+
+        Writer(FileChannel channel, DataOutputStream overflow) {
+            this.channel = channel;
+            this.overflow = overflow;
+        }
+
+        void add(Student student) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flushRecords();
+            }
+            if (count == regs.length) {
+                regs = Arrays.copyOf(regs, count * 2);
+                regHashes = Arrays.copyOf(regHashes, count * 2);
+            }
+            String reg = student.getreg();
+            int regHash = ColumnarStudentStore.regHash(reg);
+            regs[count] = reg;
+            regHashes[count] = regHash;
+
+            int start = buffer.position();
+            putString(start + REG, REG_WIDTH, reg);
+            putString(start + NAME, NAME_WIDTH, student.getName());
+            int department = departments.encode(student.getDepartment());
+            int level = levels.encode(student.getlevel());
+            departmentCounts = ColumnarStudentStore.countUse(departmentCounts, department, 1);
+            levelCounts = ColumnarStudentStore.countUse(levelCounts, level, 1);
+            buffer.putShort(start + DEPARTMENT, toShort(department, "departments"));
+            buffer.putShort(start + LEVEL, toShort(level, "levels"));
+            buffer.putInt(start + REG_HASH, regHash);
+            buffer.putInt(start + NAME_LETTERS, NameMatcher.letterMask(student.getName()));
+
+            List<Result> results = student.getResults();
+            if (results.size() > 0xFFFF) {
+                throw new IOException("Too many results for student " + reg);
+            }
+            // Recomputed the way a Student built from the record computes it, so they agree
+            double points = 0;
+            int credits = 0;
+            boolean inline = results.size() <= INLINE_RESULTS;
+            for (Result result : results) {
+                int creditHours = result.getCourse().getCreditHours();
+                points += Student.convertToGradePoints(result.getGrade()) * creditHours;
+                credits += creditHours;
+                inline &= packGrade(result.getGrade()) >= 0;
+            }
+            double cgpa = credits > 0 ? points / credits : 0.0;
+            buffer.putDouble(start + CGPA, cgpa);
+            histogram.add(cgpa);
+            buffer.putShort(start + RESULT_COUNT, (short) results.size());
+            buffer.putShort(start + FLAGS, inline ? 0 : RESULTS_IN_OVERFLOW);
+            if (inline) {
+                for (int i = 0; i < results.size(); i++) {
+                    Result result = results.get(i);
+                    buffer.putShort(start + RESULTS + 4 * i, (short) courseIndex(result.getCourse()));
+                    buffer.putShort(start + RESULTS + 4 * i + 2, (short) packGrade(result.getGrade()));
+                }
+            } else {
+                buffer.putLong(start + RESULTS, overflowSize);
+                for (Result result : results) {
+                    overflow.writeShort(courseIndex(result.getCourse()));
+                    overflow.writeDouble(result.getGrade());
+                    overflowSize += 10;
+                }
+            }
+            buffer.position(start + RECORD_SIZE);
+            count++;
+        }
+
+        private void putString(int position, int width, String value) throws IOException {
+            byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+            if (bytes.length < width && bytes.length < OVERFLOW) {
+                buffer.put(position, (byte) bytes.length);
+                buffer.put(position + 1, bytes);
+            } else {
+                buffer.put(position, (byte) OVERFLOW);
+                buffer.putLong(position + 1, overflowSize);
+                overflow.writeInt(bytes.length);
+                overflow.write(bytes);
+                overflowSize += 4 + bytes.length;
+            }
+        }
+
+        private static short toShort(int code, String what) throws IOException {
+            if (code > Short.MAX_VALUE) {
+                throw new IOException("Too many distinct " + what);
+            }
+            return (short) code;
+        }
+
+        private int courseIndex(Course course) throws IOException {
+            Integer index = courseCodes.get(course.getCourseCode());
+            if (index == null) {
+                index = (int) toShort(courses.size(), "courses");
+                courseCodes.put(course.getCourseCode(), index);
+                courses.add(course);
+            }
+            return index;
+        }
+
+        // Hundredths, or -1 if the grade is not a whole number of them in short range
+        private static int packGrade(double grade) {
+            long hundredths = Math.round(grade * 100);
+            return hundredths >= 0 && hundredths <= Short.MAX_VALUE && hundredths / 100.0 == grade
+                    ? (int) hundredths : -1;
+        }
+
+        private void flushRecords() throws IOException {
+            buffer.flip();
+            long position = HEADER_SIZE + (long) (count - buffer.remaining() / RECORD_SIZE) * RECORD_SIZE;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+
+        void finish(Path overflowFile) throws IOException {
+            flushRecords();
+            long overflowOffset = HEADER_SIZE + (long) count * RECORD_SIZE;
+            try (FileChannel source = FileChannel.open(overflowFile, StandardOpenOption.READ)) {
+                long copied = 0;
+                while (copied < overflowSize) {
+                    copied += source.transferTo(copied, overflowSize - copied, channel.position(overflowOffset + copied));
+                }
+            }
+
+            long dictionaryOffset = overflowOffset + overflowSize;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeDictionary(out, departments, departmentCounts);
+            writeDictionary(out, levels, levelCounts);
+            out.writeInt(courses.size());
+            for (Course course : courses) {
+                writeString(out, course.getCourseCode());
+                writeString(out, course.getCourseName());
+                out.writeByte(course.getCreditHours());
+            }
+            out.writeDouble(histogram.sum());
+            for (int bucketCount : histogram.counts()) {
+                out.writeInt(bucketCount);
+            }
+            out.flush();
+            writeFully(ByteBuffer.wrap(bytes.toByteArray()), dictionaryOffset);
+
+            long regTableOffset = dictionaryOffset + bytes.size();
+            int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, count) * 2 - 1) << 1);
+            int[] table = new int[capacity];
+            for (int row = 0; row < count; row++) {
+                int i = ColumnarStudentStore.home(regHashes[row], capacity - 1);
+                while (table[i] != 0) {
+                    i = (i + 1) & (capacity - 1);
+                }
+                table[i] = row + 1;
+            }
+            regHashes = null;
+            long regOrderOffset = regTableOffset + 4L * capacity;
+            writeInts(table, capacity, regTableOffset);
+
+            String[] keys = regs;
+            int[] byReg = ColumnarStudentStore.sortedPermutation(count,
+                    (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(keys[a], keys[b]));
+            writeInts(byReg, count, regOrderOffset);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putShort(VERSION);
+            header.putShort((short) RECORD_SIZE);
+            header.putInt(count);
+            header.putInt(capacity);
+            header.putLong(overflowOffset);
+            header.putLong(dictionaryOffset);
+            header.putLong(regTableOffset);
+            header.putLong(regOrderOffset);
+            header.flip();
+            writeFully(header, 0);
+        }
+
+        private static void writeDictionary(DataOutputStream out, StringDictionary dictionary, int[] counts) throws IOException {
+            out.writeInt(dictionary.size());
+            for (int code = 0; code < dictionary.size(); code++) {
+                writeString(out, dictionary.decode(code));
+                out.writeInt(code < counts.length ? counts[code] : 0);
+            }
+        }
+
+        private void writeInts(int[] values, int length, long position) throws IOException {
+            buffer.clear();
+            for (int i = 0; i < length; i++) {
+                if (buffer.remaining() < 4) {
+                    buffer.flip();
+                    position += writeFully(buffer, position);
+                    buffer.clear();
+                }
+                buffer.putInt(values[i]);
+            }
+            buffer.flip();
+            writeFully(buffer, position);
+            buffer.clear();
+        }
+
+        private long writeFully(ByteBuffer source, long position) throws IOException {
+            long written = 0;
+            while (source.hasRemaining()) {
+                written += channel.write(source, position + written);
+            }
+            return written;
+        }
+    }
+
+    // Dictionary strings: an int byte length (-1 for null) and the UTF-8 bytes
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // A read-only mapping of part of the file. A single MappedByteBuffer is limited to
+    // 2 GB, so the region is mapped in chunks of whole units (records, ints); values that
+    // straddle two chunks, which only the overflow section has, are read a byte at a time.
+    private static class Region {
+        private static final long MAX_CHUNK = 1L << 30;
+
+        private final ByteBuffer[] chunks;
+        private final long chunkSize;
+
+        Region(FileChannel channel, long offset, long length, int unit) throws IOException {
+            chunkSize = Math.max(unit, MAX_CHUNK / unit * unit);
+            chunks = new ByteBuffer[(int) ((length + chunkSize - 1) / chunkSize)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = i * chunkSize;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start, Math.min(chunkSize, length - start));
+            }
+        }
+
+        byte getByte(long position) {
+            return chunks[(int) (position / chunkSize)].get((int) (position % chunkSize));
+        }
+
+        short getShort(long position) {
+            ByteBuffer chunk = chunks[(int) (position / chunkSize)];
+            int offset = (int) (position % chunkSize);
+            if (offset + 2 <= chunk.limit()) {
+                return chunk.getShort(offset);
+            }
+            return (short) getBytes(position, 2);
+        }
+
+        int getInt(long position) {
+            ByteBuffer chunk = chunks[(int) (position / chunkSize)];
+            int offset = (int) (position % chunkSize);
+            if (offset + 4 <= chunk.limit()) {
+                return chunk.getInt(offset);
+            }
+            return (int) getBytes(position, 4);
+        }
+
+        long getLong(long position) {
+            ByteBuffer chunk = chunks[(int) (position / chunkSize)];
+            int offset = (int) (position % chunkSize);
+            if (offset + 8 <= chunk.limit()) {
+                return chunk.getLong(offset);
+            }
+            return getBytes(position, 8);
+        }
+
+        double getDouble(long position) {
+            return Double.longBitsToDouble(getLong(position));
+        }
+
+        void get(long position, byte[] destination) {
+            int done = 0;
+            while (done < destination.length) {
+                ByteBuffer chunk = chunks[(int) ((position + done) / chunkSize)];
+                int offset = (int) ((position + done) % chunkSize);
+                int length = Math.min(destination.length - done, chunk.limit() - offset);
+                chunk.get(offset, destination, done, length);
+                done += length;
+            }
+        }
+
+        private long getBytes(long position, int length) {
+            long value = 0;
+            for (int i = 0; i < length; i++) {
+                value = (value << 8) | (getByte(position + i) & 0xFF);
+            }
+            return value;
+        }
+    }
+}
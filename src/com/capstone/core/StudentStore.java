@@ -0,0 +1,87 @@
+package com.capstone.core;
+
+import java.util.Collection;
+import java.util.List;
+
+// Where a StudentDataManager keeps its students. The manager does the locking, change
+// events and persistence; a store holds the students in list order and answers the
+// queries. Indexes are positions in that order. Reads are called under the manager's
+// read lock and may run concurrently; everything else is called under its write lock.
+interface StudentStore {
+    enum SortKey { NAME, CGPA }
+
+    // A copy of the list order that can be sorted without holding the manager's lock,
+    // then put back with setOrder() if the store has not changed in the meantime
+    interface Order {
+        int size();
+
+        // Sort positions [from, to). Returns false, leaving the order unchanged, if the
+        // sort was cancelled.
+        boolean sort(SortKey key, int from, int to, TaskProgress progress);
+    }
+
+    int size();
+
+    Student get(int index);
+
+    // Reg numbers are matched ignoring case
+    Student find(String reg);
+
+    // Position of the student with this reg, or -1. Called under the write lock, so a
+    // store may bring cached positions up to date here.
+    int indexOf(String reg);
+
+    // Append; the caller has checked that the reg number is free
+    void add(Student student);
+
+    void set(int index, Student student);
+
+    void remove(int index);
+
+    // Add results to the student with this reg; false if there is no such student
+    boolean addResults(String reg, Collection<Result> results);
+
+    // A student held by the store had its CGPA changed by editing it directly
+    default void cgpaChanged(Student student) {
+    }
+
+    // Immutable copy of the students in list order
+    List<Student> snapshot();
+
+    Order copyOrder();
+
+    void setOrder(Order order);
+
+    // Reorder by reg number
+    void sortById();
+
+    Student binarySearchById(String reg);
+
+    // Students with fromReg <= reg <= toReg (ignoring case), in reg order
+    List<Student> findInIdRange(String fromReg, String toReg);
+
+    List<Student> filter(String department, String level);
+
+    List<Student> searchByName(String query, int limit);
+
+    List<String> getDepartments();
+
+    List<String> getLevels();
+
+    double getAverage();
+
+    double getHighest();
+
+    double getLowest();
+
+    Student getTopPerformer();
+
+    // 1 for the best CGPA, ties to two decimal places sharing a rank; -1 if not found
+    int rank(String reg);
+
+    List<Student> top(int k);
+
+    List<Student> between(double minCgpa, double maxCgpa);
+
+    double percentile(double percentile);
+}
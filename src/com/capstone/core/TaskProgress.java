@@ -0,0 +1,16 @@
+package com.capstone.core;
+
+// Progress reporting and cancellation for long-running operations (imports, exports,
+// sorts), so a front end can run them off its UI thread and offer a Cancel button.
+// Called on the thread doing the work.
+public interface TaskProgress {
+    TaskProgress NONE = (done, total) -> { };
+
+    // total is -1 while it is not known
+    void update(long done, long total);
+
+    // Polled between units of work; the operation stops soon after this returns true
+    default boolean isCancelled() {
+        return false;
+    }
+}
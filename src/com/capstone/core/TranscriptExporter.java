@@ -0,0 +1,292 @@
+package com.capstone.core;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Streams every student's transcript and CGPA to CSV (one row per result) or JSON Lines
+// (one object per student). Rows are written straight from the student list through a
+// buffered writer; nothing is collected in between.
+//
+// Usage: java com.capstone.core.TranscriptExporter csv|jsonl <output> [--by-department] [data directory]
+// With --by-department, <output> is a directory that receives one file per department.
+//
+// Progress is reported in students written. A cancelled export throws
+// CancellationException; the file being written is deleted, while department files
+// already finished are kept.
+public class TranscriptExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Students between progress reports and cancellation checks
+    private static final int PROGRESS_INTERVAL = 1_000;
+
+    public enum Format {
+        CSV(".csv"),
+        JSON_LINES(".jsonl");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final StudentDataManager dataManager;
+
+    public TranscriptExporter(StudentDataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
+    // Every student to one file; returns how many students were written
+    public long export(Path file, Format format) throws IOException {
+        return export(file, format, TaskProgress.NONE);
+    }
+
+    public long export(Path file, Format format, TaskProgress progress) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        List<Student> students = dataManager.getStudents();
+        AtomicLong written = new AtomicLong();
+        progress.update(0, students.size());
+        long count = write(students, file, format, null, written, students.size(), progress);
+        progress.update(count, students.size());
+        return count;
+    }
+
+    // One file per department in the given directory, written in parallel. Returns the
+    // number of students written for each department.
+    public Map<String, Long> exportByDepartment(Path directory, Format format) throws IOException {
+        return exportByDepartment(directory, format, TaskProgress.NONE);
+    }
+
+    public Map<String, Long> exportByDepartment(Path directory, Format format, TaskProgress progress) throws IOException {
+        Files.createDirectories(directory);
+        // One snapshot for every task, so the files add up to a consistent whole
+        List<Student> students = dataManager.getStudents();
+        Set<String> departments = new TreeSet<>();
+        for (Student student : students) {
+            departments.add(student.getDepartment());
+        }
+        if (departments.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        // Each task scans the shared student list for its own department, so no
+        // per-department lists are built
+        int threads = Math.min(departments.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "transcript-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Shared by the tasks, so progress covers the whole export
+        AtomicLong written = new AtomicLong();
+        progress.update(0, students.size());
+        try {
+            Map<String, Future<Long>> tasks = new TreeMap<>();
+            for (String department : departments) {
+                Path file = directory.resolve(fileNameFor(department) + format.getExtension());
+                tasks.put(department, executor.submit(
+                        () -> write(students, file, format, department, written, students.size(), progress)));
+            }
+
+            Map<String, Long> counts = new TreeMap<>();
+            for (Map.Entry<String, Future<Long>> task : tasks.entrySet()) {
+                counts.put(task.getKey(), task.getValue().get());
+            }
+            return counts;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof CancellationException) {
+                throw (CancellationException) e.getCause();
+            }
+            throw new IOException("Export failed: " + e.getCause(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Students in the given department, or all of them if department is null. written
+    // counts students across every task writing this export, for progress.
+    private long write(List<Student> students, Path file, Format format, String department,
+                       AtomicLong written, long total, TaskProgress progress) throws IOException {
+        long count = 0;
+        boolean cancelled = false;
+        try (TranscriptWriter out = format == Format.CSV
+                ? new CsvTranscriptWriter(newWriter(file))
+                : new JsonLinesTranscriptWriter(newWriter(file))) {
+            for (Student student : students) {
+                if (department == null || department.equals(student.getDepartment())) {
+                    out.write(student);
+                    if (++count % PROGRESS_INTERVAL == 0) {
+                        progress.update(written.addAndGet(PROGRESS_INTERVAL), total);
+                        if (progress.isCancelled()) {
+                            cancelled = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        if (cancelled) {
+            Files.deleteIfExists(file);
+            throw new CancellationException("Export cancelled");
+        }
+        progress.update(written.addAndGet(count % PROGRESS_INTERVAL), total);
+        return count;
+    }
+
+    private static Writer newWriter(Path file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // Department name made safe for a file name, e.g. "Computer Science" -> "Computer_Science"
+    static String fileNameFor(String department) {
+        String name = department.trim().replaceAll("[^A-Za-z0-9-]+", "_");
+        return name.isEmpty() ? "unknown" : name;
+    }
+
+    private interface TranscriptWriter extends Closeable {
+        void write(Student student) throws IOException;
+    }
+
+    // reg,name,level,department,cgpa,course,course name,credits,grade,letter: one row per
+    // result; a student without results gets one row with the course columns empty
+    private static class CsvTranscriptWriter implements TranscriptWriter {
+        private final Writer out;
+        // Student columns are formatted once and repeated on each of the student's rows
+        private final StringBuilder studentColumns = new StringBuilder();
+
+        CsvTranscriptWriter(Writer out) throws IOException {
+            this.out = out;
+            out.write("reg,name,level,department,cgpa,course,course name,credits,grade,letter\n");
+        }
+
+        @Override
+        public void write(Student student) throws IOException {
+            formatStudentColumns(student);
+            List<Result> results = student.getResults();
+            if (results.isEmpty()) {
+                out.append(studentColumns).write(",,,,,\n");
+                return;
+            }
+            for (Result result : results) {
+                out.append(studentColumns);
+                Course course = result.getCourse();
+                out.write(',');
+                out.write(CsvReader.escape(course.getCourseCode()));
+                out.write(',');
+                out.write(CsvReader.escape(course.getCourseName()));
+                out.write(',');
+                out.write(Integer.toString(course.getCreditHours()));
+                out.write(',');
+                out.write(Double.toString(result.getGrade()));
+                out.write(',');
+                out.write(result.getLetterGrade());
+                out.write('\n');
+            }
+        }
+
+        private void formatStudentColumns(Student student) {
+            studentColumns.setLength(0);
+            studentColumns.append(CsvReader.escape(student.getreg())).append(',')
+                .append(CsvReader.escape(student.getName())).append(',')
+                .append(CsvReader.escape(student.getlevel())).append(',')
+                .append(CsvReader.escape(student.getDepartment())).append(',')
+                .append(String.format(Locale.ROOT, "%.2f", student.getCgpa()));
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static class JsonLinesTranscriptWriter implements TranscriptWriter {
+        private final JsonWriter json;
+
+        JsonLinesTranscriptWriter(Writer out) {
+            this.json = new JsonWriter(out);
+        }
+
+        @Override
+        public void write(Student student) throws IOException {
+            json.beginObject()
+                .name("reg").value(student.getreg())
+                .name("name").value(student.getName())
+                .name("level").value(student.getlevel())
+                .name("department").value(student.getDepartment())
+                .name("cgpa").value(student.getCgpa())
+                .name("results").beginArray();
+            for (Result result : student.getResults()) {
+                json.beginObject()
+                    .name("course").value(result.getCourse().getCourseCode())
+                    .name("courseName").value(result.getCourse().getCourseName())
+                    .name("credits").value(result.getCourse().getCreditHours())
+                    .name("grade").value(result.getGrade())
+                    .name("letter").value(result.getLetterGrade())
+                    .endObject();
+            }
+            json.endArray().endObject().endLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> positional = new ArrayList<>();
+        boolean byDepartment = false;
+        for (String arg : args) {
+            if (arg.equals("--by-department")) {
+                byDepartment = true;
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() < 2 || !(positional.get(0).equals("csv") || positional.get(0).equals("jsonl"))) {
+            System.err.println("Usage: java com.capstone.core.TranscriptExporter csv|jsonl <output> [--by-department] [data directory]");
+            System.exit(1);
+        }
+        Format format = positional.get(0).equals("csv") ? Format.CSV : Format.JSON_LINES;
+        Path output = Paths.get(positional.get(1));
+        String directory = positional.size() > 2 ? positional.get(2) : "";
+
+        StudentDataManager dataManager = new StudentDataManager(Paths.get(directory), true, 200);
+        try {
+            TranscriptExporter exporter = new TranscriptExporter(dataManager);
+            long start = System.nanoTime();
+            long total = 0;
+            if (byDepartment) {
+                for (Map.Entry<String, Long> entry : exporter.exportByDepartment(output, format).entrySet()) {
+                    System.out.printf("%-30s %,d students%n", entry.getKey(), entry.getValue());
+                    total += entry.getValue();
+                }
+            } else {
+                total = exporter.export(output, format);
+            }
+            System.out.printf("Exported %,d students in %.2f s%n", total, (System.nanoTime() - start) / 1e9);
+        } finally {
+            dataManager.close();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.capstone.server;
+
+import com.capstone.core.*;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.*;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read-only JSON API over a StudentDataManager, for tools that need student data
+// without running the Swing platform.
+//
+//   GET /students/{reg}          one student with results, 404 if unknown
+//   GET /students?from=A&to=B    students with reg in [A, B], in reg order
+//   GET /students                every student
+//   GET /search?q=ade&limit=20   best name matches (prefix and typo tolerant)
+//   GET /top                     top performer
+//   GET /top?k=N                 the N best students, highest CGPA first
+//   GET /stats                   class count, average, highest, lowest, median and
+//                                90th percentile CGPA
+//
+// Usage: java com.capstone.server.StudentServer [port] [data directory] [storage mode]
+// The storage mode is OBJECTS (the default), COLUMNAR or MAPPED. The data directory is
+// only read, so the server can run beside the platform that owns it; it serves the
+// students as they were when it started.
+public class StudentServer {
+    static final int DEFAULT_PORT = 8080;
+    // Pending connections the OS queues while every handler is busy
+    private static final int BACKLOG = 4096;
+    private static final int RESPONSE_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 1000;
+
+    private final StudentDataManager dataManager;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public StudentServer(StudentDataManager dataManager, int port) throws IOException {
+        this.dataManager = dataManager;
+        this.executor = newRequestExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/students", exchange -> handle(exchange, this::handleStudents));
+        server.createContext("/search", exchange -> handle(exchange, this::handleSearch));
+        server.createContext("/top", exchange -> handle(exchange, this::handleTop));
+        server.createContext("/stats", exchange -> handle(exchange, this::handleStats));
+    }
+
+    // One virtual thread per request on Java 21+, where the method exists; otherwise
+    // a fixed pool, which is plenty for lookups that never block on I/O
+    static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4, runnable -> {
+                Thread thread = new Thread(runnable, "student-http-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Stop accepting requests, give in-flight ones a second to finish
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleStudents(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.startsWith("/students/") && path.length() > "/students/".length()) {
+            String reg = path.substring("/students/".length());
+            Student student = dataManager.findStudentById(reg);
+            if (student == null) {
+                sendError(exchange, 404, "Student " + reg + " not found");
+                return;
+            }
+            int rank = dataManager.getRank(reg);
+            try (JsonWriter json = beginResponse(exchange, 200)) {
+                writeStudent(json, student, true, rank);
+            }
+            return;
+        }
+        if (!path.equals("/students") && !path.equals("/students/")) {
+            sendError(exchange, 404, "Not found");
+            return;
+        }
+
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        String from = query.get("from");
+        String to = query.get("to");
+        List<Student> students;
+        if (from == null && to == null) {
+            students = dataManager.getStudents();
+        } else if (from != null && to != null) {
+            students = dataManager.findStudentsInIdRange(from, to);
+        } else {
+            sendError(exchange, 400, "Both from and to are required for a range");
+            return;
+        }
+
+        try (JsonWriter json = beginResponse(exchange, 200)) {
+            json.beginArray();
+            for (Student student : students) {
+                writeStudent(json, student, false);
+            }
+            json.endArray();
+        }
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        String q = query.get("q");
+        if (q == null || q.trim().isEmpty()) {
+            sendError(exchange, 400, "q is required");
+            return;
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(query.getOrDefault("limit", Integer.toString(DEFAULT_SEARCH_LIMIT)));
+        } catch (NumberFormatException e) {
+            limit = -1;
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            sendError(exchange, 400, "limit must be between 1 and " + MAX_SEARCH_LIMIT);
+            return;
+        }
+
+        try (JsonWriter json = beginResponse(exchange, 200)) {
+            json.beginArray();
+            for (Student student : dataManager.searchByName(q, limit)) {
+                writeStudent(json, student, false);
+            }
+            json.endArray();
+        }
+    }
+
+    private void handleTop(HttpExchange exchange) throws IOException {
+        String k = parseQuery(exchange.getRequestURI().getRawQuery()).get("k");
+        if (k != null) {
+            int count;
+            try {
+                count = Integer.parseInt(k);
+            } catch (NumberFormatException e) {
+                count = -1;
+            }
+            if (count < 0) {
+                sendError(exchange, 400, "k must be a non-negative number");
+                return;
+            }
+            try (JsonWriter json = beginResponse(exchange, 200)) {
+                json.beginArray();
+                for (Student student : dataManager.getTopStudents(count)) {
+                    writeStudent(json, student, false);
+                }
+                json.endArray();
+            }
+            return;
+        }
+
+        Student top = dataManager.getTopPerformer();
+        if (top == null) {
+            sendError(exchange, 404, "No students");
+            return;
+        }
+        try (JsonWriter json = beginResponse(exchange, 200)) {
+            writeStudent(json, top, false);
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        int count = dataManager.getStudentCount();
+        Map<String, Double> stats = dataManager.calculateClassStatistics();
+        try (JsonWriter json = beginResponse(exchange, 200)) {
+            json.beginObject()
+                .name("count").value(count)
+                .name("average").value(stats.get("average"))
+                .name("highest").value(stats.get("highest"))
+                .name("lowest").value(stats.get("lowest"))
+                .name("median").value(dataManager.getCgpaPercentile(50))
+                .name("p90").value(dataManager.getCgpaPercentile(90))
+                .endObject();
+        }
+    }
+
+    private static void writeStudent(JsonWriter json, Student student, boolean withResults) throws IOException {
+        writeStudent(json, student, withResults, 0);
+    }
+
+    // Rank is included when it is positive
+    private static void writeStudent(JsonWriter json, Student student, boolean withResults, int rank) throws IOException {
+        json.beginObject()
+            .name("reg").value(student.getreg())
+            .name("name").value(student.getName())
+            .name("level").value(student.getlevel())
+            .name("department").value(student.getDepartment())
+            .name("cgpa").value(student.getCgpa());
+        if (rank > 0) {
+            json.name("rank").value(rank);
+        }
+        if (withResults) {
+            json.name("results").beginArray();
+            for (Result result : student.getResults()) {
+                json.beginObject()
+                    .name("course").value(result.getCourse().getCourseCode())
+                    .name("credits").value(result.getCourse().getCreditHours())
+                    .name("grade").value(result.getGrade())
+                    .name("letter").value(result.getLetterGrade())
+                    .endObject();
+            }
+            json.endArray();
+        }
+        json.endObject();
+    }
+
+    // Method check and error mapping shared by every endpoint
+    private static void handle(HttpExchange exchange, HttpHandler handler) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Only GET is supported");
+                return;
+            }
+            handler.handle(exchange);
+        } catch (BadRequestException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Chunked response: the body is streamed as it is written
+    private static JsonWriter beginResponse(HttpExchange exchange, int status) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, 0);
+        return new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), RESPONSE_BUFFER_SIZE));
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        try (JsonWriter json = beginResponse(exchange, status)) {
+            json.beginObject().name("error").value(message).endObject();
+        } catch (IOException e) {
+            // Headers already sent or client gone; nothing more to report
+        }
+    }
+
+    // A request the client got wrong, answered with 400 rather than the 500 an
+    // unexpected exception gets
+    private static final class BadRequestException extends RuntimeException {
+        BadRequestException(String message) {
+            super(message);
+        }
+    }
+
+    // Malformed percent-escapes such as %zz are the client's mistake
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            try {
+                params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Malformed query string");
+            }
+        }
+        return params;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String directory = args.length > 1 ? args[1] : "";
+        StudentDataManager.StorageMode storageMode = args.length > 2
+                ? StudentDataManager.StorageMode.valueOf(args[2].toUpperCase(Locale.ROOT))
+                : StudentDataManager.StorageMode.OBJECTS;
+
+        StudentDataManager dataManager = StudentDataManager.readOnly(Paths.get(directory), storageMode);
+        StudentServer server = new StudentServer(dataManager, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            dataManager.close();
+        }, "student-http-shutdown"));
+        server.start();
+        System.out.println("Serving " + dataManager.getStudentCount() + " students on port " + server.getPort());
+    }
+}
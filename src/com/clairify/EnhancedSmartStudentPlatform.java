@@ -1,10 +1,13 @@
 package com.clairify;
+
+import com.capstone.core.*;
 import javax.swing.*;
 import javax.swing.table.*;
 import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 class ModernButton extends JButton {
     private Color defaultColor = new Color(52, 152, 219);
@@ -98,11 +101,14 @@ class ModernTableCellRenderer extends DefaultTableCellRenderer {
 public class EnhancedSmartStudentPlatform extends JFrame {
     private StudentDataManager dataManager;
     private JTable studentTable;
-    private DefaultTableModel tableModel;
+    private StudentTableModel tableModel;
     private JTextField searchField;
     private JComboBox<String> sortComboBox;
     private JPanel statsPanel;
     private JLabel totalStudentsLabel, avgCgpaLabel, topPerformerLabel;
+    // Bumped per statistics request, so a slower earlier one can't overwrite newer figures
+    private int statsRequest;
+    private boolean sorting;
     
     // Colors
     private final Color PRIMARY_COLOR = new Color(30, 64, 175); 
@@ -113,9 +119,8 @@ public class EnhancedSmartStudentPlatform extends JFrame {
     private final Color CARD_COLOR = Color.WHITE;
     
     public EnhancedSmartStudentPlatform() {
-        dataManager = new StudentDataManager();
+        dataManager = SampleData.createDataManager();
         initializeModernGUI();
-        loadStudentData();
         updateStatistics();
     }
     
@@ -173,21 +178,8 @@ public class EnhancedSmartStudentPlatform extends JFrame {
         mainPanel.setBackground(BACKGROUND_COLOR);
         mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         
-        // Create table with modern styling
-        String[] columnNames = {
-            "Student Reg",
-            "Name",
-            "Level",
-            "Department",
-            "CGPA",
-            "Status"
-        };
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Create table with modern styling (rows are read lazily from the data manager)
+        tableModel = new StudentTableModel(dataManager);
         
         studentTable = new JTable(tableModel);
         setupModernTable();
@@ -413,53 +405,60 @@ public class EnhancedSmartStudentPlatform extends JFrame {
     }
     
     private void loadStudentData() {
-        tableModel.setRowCount(0);
-        
-        for (Student student : dataManager.getStudents()) {
-            String status = student.getCgpa() >= 3.5 ? "Excellent" : 
-                           student.getCgpa() >= 2.5 ? "Good" : "Needs Improvement";
-            
-            Object[] rowData = {
-                student.getId(),
-                student.getName(),
-                student.getLevel(),
-                student.getDepartment(),
-                String.format("%.2f", student.getCgpa()),
-                status
-            };
-            tableModel.addRow(rowData);
-        }
+        tableModel.reload();
     }
     
+    // The figures are read from the data manager's running statistics on a worker thread
+    // and put on the cards once ready. Only the latest request's figures are shown.
     private void updateStatistics() {
-        List<Student> students = dataManager.getStudents();
-        int totalStudents = students.size();
-        
+        int request = ++statsRequest;
+        new SwingWorker<StatisticsSnapshot, Void>() {
+            @Override
+            protected StatisticsSnapshot doInBackground() {
+                StatisticsSnapshot snapshot = new StatisticsSnapshot();
+                snapshot.totalStudents = dataManager.getStudentCount();
+                snapshot.avgCgpa = dataManager.calculateClassStatistics().get("average");
+                snapshot.topPerformer = dataManager.getTopPerformer();
+                return snapshot;
+            }
+            
+            @Override
+            protected void done() {
+                if (request != statsRequest) {
+                    return;
+                }
+                try {
+                    showStatistics(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    showErrorMessage("Could not update statistics: " + e.getCause().getMessage());
+                }
+            }
+        }.execute();
+    }
+    
+    private static class StatisticsSnapshot {
+        int totalStudents;
+        double avgCgpa;
+        Student topPerformer;
+    }
+    
+    private void showStatistics(StatisticsSnapshot snapshot) {
         // Update total students
         Component totalCard = ((JLabel) totalStudentsLabel).getComponent(0);
         JLabel totalValue = (JLabel) ((JPanel) totalCard).getComponent(1);
-        totalValue.setText(String.valueOf(totalStudents));
-        
-        if (totalStudents > 0) {
-            // Calculate average CGPA
-            double avgCgpa = students.stream()
-                    .mapToDouble(Student::getCgpa)
-                    .average()
-                    .orElse(0.0);
-            
+        totalValue.setText(String.valueOf(snapshot.totalStudents));
+        
+        if (snapshot.totalStudents > 0) {
             Component avgCard = ((JLabel) avgCgpaLabel).getComponent(0);
             JLabel avgValue = (JLabel) ((JPanel) avgCard).getComponent(1);
-            avgValue.setText(String.format("%.2f", avgCgpa));
-            
-            // Find top performer
-            Student topPerformer = students.stream()
-                    .max((s1, s2) -> Double.compare(s1.getCgpa(), s2.getCgpa()))
-                    .orElse(null);
+            avgValue.setText(String.format("%.2f", snapshot.avgCgpa));
             
             Component topCard = ((JLabel) topPerformerLabel).getComponent(0);
             JLabel topValue = (JLabel) ((JPanel) topCard).getComponent(1);
-            if (topPerformer != null) {
-                topValue.setText(topPerformer.getName());
+            if (snapshot.topPerformer != null) {
+                topValue.setText(snapshot.topPerformer.getName());
             }
         }
     }
@@ -501,7 +500,6 @@ public class EnhancedSmartStudentPlatform extends JFrame {
                 
                 Student student = new Student(name, id, level, department);
                 dataManager.addStudent(student);
-                loadStudentData();
                 updateStatistics();
                 dialog.dispose();
                 
@@ -581,11 +579,11 @@ public class EnhancedSmartStudentPlatform extends JFrame {
         
         JDialog dialog = createModernDialog("Update Student Information");
         
-        JTextField idField = new JTextField(student.getId(), 15);
+        JTextField idField = new JTextField(student.getreg(), 15);
         idField.setEditable(false);
         idField.setBackground(new Color(240, 240, 240));
         JTextField nameField = new JTextField(student.getName(), 15);
-        JTextField levelField = new JTextField(student.getLevel(), 15);
+        JTextField levelField = new JTextField(student.getlevel(), 15);
         JTextField departmentField = new JTextField(student.getDepartment(), 15);
         
         JPanel formPanel = new JPanel(new GridBagLayout());
@@ -616,16 +614,12 @@ public class EnhancedSmartStudentPlatform extends JFrame {
                 }
                 
                 // Create updated student with same results
-                Student updatedStudent = new Student(name, student.getId(), level, department);
-                for (Result result : student.getResults()) {
-                    updatedStudent.addResult(result);
-                }
+                Student updatedStudent = new Student(name, student.getreg(), level, department);
+                updatedStudent.addResults(student.getResults());
                 
-                // Update in data manager
-                dataManager.removeStudent(student.getId());
-                dataManager.addStudent(updatedStudent);
+                // Update in place in the data manager
+                dataManager.updateStudent(student.getreg(), updatedStudent);
                 
-                loadStudentData();
                 updateStatistics();
                 dialog.dispose();
                 
@@ -669,7 +663,6 @@ public class EnhancedSmartStudentPlatform extends JFrame {
         
         if (result == JOptionPane.YES_OPTION) {
             if (dataManager.removeStudent(studentId)) {
-                loadStudentData();
                 updateStatistics();
                 showSuccessMessage("Student removed successfully!");
             } else {
@@ -702,7 +695,7 @@ public class EnhancedSmartStudentPlatform extends JFrame {
         gbc.insets = new Insets(10, 10, 10, 10);
         
         // Student info display
-        JLabel studentInfo = new JLabel("Student: " + student.getName() + " (" + student.getId() + ")");
+        JLabel studentInfo = new JLabel("Student: " + student.getName() + " (" + student.getreg() + ")");
         studentInfo.setFont(new Font("Segoe UI", Font.BOLD, 14));
         studentInfo.setForeground(PRIMARY_COLOR);
         gbc.gridx = 0; gbc.gridy = 0; gbc.gridwidth = 2; gbc.anchor = GridBagConstraints.WEST;
@@ -741,14 +734,17 @@ public class EnhancedSmartStudentPlatform extends JFrame {
                 }
                 
                 Course selectedCourse = (Course) courseComboBox.getSelectedItem();
-                student.addResult(selectedCourse, grade);
-                
-                loadStudentData();
+                // The held student may be read by other threads, so replace it with a copy
+                Student updatedStudent = new Student(student.getName(), student.getreg(),
+                    student.getlevel(), student.getDepartment());
+                updatedStudent.addResults(student.getResults());
+                updatedStudent.addResult(selectedCourse, grade);
+                dataManager.updateStudent(student.getreg(), updatedStudent);
                 updateStatistics();
                 dialog.dispose();
                 
                 showSuccessMessage("Result added successfully!\nNew CGPA: " + 
-                    String.format("%.2f", student.getCgpa()));
+                    String.format("%.2f", updatedStudent.getCgpa()));
                 
             } catch (NumberFormatException ex) {
                 showErrorMessage("Please enter a valid numeric grade!");
@@ -798,27 +794,51 @@ public class EnhancedSmartStudentPlatform extends JFrame {
     
     private void performSort() {
         String selectedSort = (String) sortComboBox.getSelectedItem();
-        List<Student> students = dataManager.getStudents();
         
-        if (students.isEmpty()) {
+        if (dataManager.getStudentCount() == 0) {
             showWarningMessage("No students to sort!");
             return;
         }
-        
-        switch (selectedSort) {
-            case "Name":
-                students.sort((s1, s2) -> s1.getName().compareToIgnoreCase(s2.getName()));
-                break;
-            case "CGPA":
-                students.sort((s1, s2) -> Double.compare(s2.getCgpa(), s1.getCgpa()));
-                break;
-            case "Reg":
-                students.sort((s1, s2) -> s1.getId().compareToIgnoreCase(s2.getId()));
-                break;
+        if (sorting) {
+            showWarningMessage("A sort is already running.");
+            return;
         }
         
-        loadStudentData();
-        showSuccessMessage("Students sorted by " + selectedSort);
+        // Sort on a worker thread so the window keeps painting; the table is refreshed by
+        // the manager's change event
+        sorting = true;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                switch (selectedSort) {
+                    case "Name":
+                        dataManager.sortByName(TaskProgress.NONE);
+                        break;
+                    case "CGPA":
+                        dataManager.sortByCGPA();
+                        break;
+                    case "Reg":
+                        dataManager.sortById();
+                        break;
+                }
+                return null;
+            }
+            
+            @Override
+            protected void done() {
+                sorting = false;
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    get();
+                    showSuccessMessage("Students sorted by " + selectedSort);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    showErrorMessage("Sort failed: " + e.getCause().getMessage());
+                }
+            }
+        }.execute();
     }
     
     private void viewStudentDetails() {
@@ -843,9 +863,9 @@ public class EnhancedSmartStudentPlatform extends JFrame {
         gbc.insets = new Insets(5, 10, 5, 10);
         gbc.anchor = GridBagConstraints.WEST;
         
-        addInfoRow(infoPanel, gbc, "Student Reg:", student.getId(), 0);
+        addInfoRow(infoPanel, gbc, "Student Reg:", student.getreg(), 0);
         addInfoRow(infoPanel, gbc, "Name:", student.getName(), 1);
-        addInfoRow(infoPanel, gbc, "Level:", student.getLevel(), 2);
+        addInfoRow(infoPanel, gbc, "Level:", student.getlevel(), 2);
         addInfoRow(infoPanel, gbc, "Department:", student.getDepartment(), 3);
         addInfoRow(infoPanel, gbc, "CGPA:", String.format("%.2f", student.getCgpa()), 4);
         
@@ -1,25 +1,17 @@
 package com.clairify;
 
+import com.capstone.core.Course;
+import com.capstone.core.Student;
+import com.capstone.core.StudentDataManager;
 import java.util.ArrayList;
+import java.util.List;
 
-public class StudentManagementException extends Exception {
-    public StudentManagementException(String message) {
-        super(message);
-    }
-}
+// The courses and students this platform starts with. Nothing is saved to disk.
+class SampleData {
+    static StudentDataManager createDataManager() {
+        List<Course> courses = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
 
-// Data manager class (simplified for UI focus)
-class StudentDataManager {
-    private ArrayList<Student> students;
-    private ArrayList<Course> courses;
-
-    public StudentDataManager() {
-        students = new ArrayList<>();
-        courses = new ArrayList<>();
-        initializeSampleData();
-    }
-
-    private void initializeSampleData() {
         // Sample courses
         courses.add(new Course("MATH202", "Differential Equation", 2));
         courses.add(new Course("INS204", "System Design and Analysis", 3));
@@ -73,38 +65,9 @@ class StudentDataManager {
         Student s11 = new Student("Ilorah Sharon Eberechukwu", "20231399332", "200 Level", "Cyber Security");
         s11.addResult(courses.get(0), 88.0);
         students.add(s11);
-    }
-
-    public void addStudent(Student student) throws StudentManagementException {
-        if (findStudentById(student.getId()) != null) {
-            throw new StudentManagementException("Student with ID " + student.getId() + " already exists!");
-        }
-        students.add(student);
-    }
-
-    public Student findStudentById(String id) {
-        for (Student student : students) {
-            if (student.getId().equalsIgnoreCase(id)) {
-                return student;
-            }
-        }
-        return null;
-    }
-
-    public boolean removeStudent(String id) {
-        Student student = findStudentById(id);
-        if (student != null) {
-            students.remove(student);
-            return true;
-        }
-        return false;
-    }
-
-    public ArrayList<Student> getStudents() {
-        return new ArrayList<>(students);
-    }
 
-    public ArrayList<Course> getCourses() {
-        return new ArrayList<>(courses);
+        StudentDataManager dataManager = StudentDataManager.inMemory(courses);
+        dataManager.addStudents(students.iterator());
+        return dataManager;
     }
 }
@@ -0,0 +1,117 @@
+package com.cruciqe;
+
+import com.capstone.core.*;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.List;
+
+// Table model over the data manager's immutable student snapshots instead of a copied
+// row array. Row events come from the manager's change events; the snapshot is only
+// replaced when one is handled, so the table never sees rows it was not told about.
+class StudentTableModel extends AbstractTableModel implements StudentDataListener {
+    private static final String[] COLUMN_NAMES = {
+        "Student Reg",
+        "Name",
+        "Level",
+        "Department",
+        "CGPA",
+        "Status"
+    };
+
+    private final StudentDataManager dataManager;
+    // As of the last event handled
+    private List<Student> rows;
+
+    public StudentTableModel(StudentDataManager dataManager) {
+        this.dataManager = dataManager;
+        rows = dataManager.getStudents();
+        dataManager.addDataListener(this);
+    }
+
+    @Override
+    public int getRowCount() { return rows.size(); }
+
+    @Override
+    public int getColumnCount() { return COLUMN_NAMES.length; }
+
+    @Override
+    public String getColumnName(int column) { return COLUMN_NAMES[column]; }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Student student = rows.get(row);
+        switch (column) {
+            case 0: return student.getreg();
+            case 1: return student.getName();
+            case 2: return student.getlevel();
+            case 3: return student.getDepartment();
+            case 4: return String.format("%.2f", student.getCgpa());
+            case 5: return student.getCgpa() >= 3.5 ? "Excellent" :
+                           student.getCgpa() >= 2.5 ? "Good" : "Needs Improvement";
+            default: return null;
+        }
+    }
+
+    @Override
+    public void studentAdded(int index) {
+        onEventThread(() -> {
+            if (takeSnapshot(1, index)) {
+                fireTableRowsInserted(index, index);
+            }
+        });
+    }
+
+    @Override
+    public void studentUpdated(int index) {
+        onEventThread(() -> {
+            if (takeSnapshot(0, index)) {
+                fireTableRowsUpdated(index, index);
+            }
+        });
+    }
+
+    @Override
+    public void studentRemoved(int index) {
+        onEventThread(() -> {
+            if (takeSnapshot(-1, index)) {
+                fireTableRowsDeleted(index, index);
+            }
+        });
+    }
+
+    @Override
+    public void studentsChanged() {
+        onEventThread(this::reload);
+    }
+
+    // Show the manager's current students. Event thread only.
+    public void reload() {
+        rows = dataManager.getStudents();
+        fireTableDataChanged();
+    }
+
+    // Move to the current snapshot. True if it differs from the last one by just the
+    // event being handled; otherwise the whole table is refreshed and false returned.
+    private boolean takeSnapshot(int sizeChange, int index) {
+        int previousSize = rows.size();
+        rows = dataManager.getStudents();
+        if (rows.size() == previousSize + sizeChange && index < Math.max(previousSize, rows.size())) {
+            return true;
+        }
+        fireTableDataChanged();
+        return false;
+    }
+
+    private static void onEventThread(Runnable action) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            action.run();
+        } else {
+            SwingUtilities.invokeLater(action);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.capstone.core;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+// Snapshots in MAPPED mode: once a snapshot is written the store reads the students it
+// saved from the new file, keeps only later changes on the heap, and lists the same
+// students in the same order as before.
+//
+// Run with assertions enabled, after compiling src and test together:
+//   java -ea -cp test-out com.capstone.core.MappedSnapshotTest
+public class MappedSnapshotTest {
+    public static void main(String[] args) throws Exception {
+        changesAfterSnapshotCarriedOver();
+        checkpointReattaches();
+        System.out.println("MappedSnapshotTest passed");
+    }
+
+    // Edits made between taking the snapshot and reattaching stay on the heap; the rest
+    // is read from the file
+    private static void changesAfterSnapshotCarriedOver() throws IOException {
+        List<Course> courses = StudentDataManager.sampleCourses();
+        MappedStudentStore store = new MappedStudentStore(new CourseCatalog(courses));
+        StudentGenerator generator = new StudentGenerator(11, 2000, courses);
+        while (generator.hasNext()) {
+            store.add(generator.next());
+        }
+        List<Student> snapshot = store.snapshot();
+
+        Random random = new Random(5);
+        for (int i = 0; i < 30; i++) {
+            store.remove(random.nextInt(store.size()));
+        }
+        // 50 different students
+        for (int i = 0; i < 50; i++) {
+            int index = i * 37;
+            Student student = store.get(index);
+            student.addResult(new Result(courses.get(random.nextInt(courses.size())), random.nextInt(101)));
+            store.set(index, student);
+        }
+        for (int i = 0; i < 20; i++) {
+            store.add(new Student("Late Student" + i, "LATE/" + i, "100 Level", "Physics"));
+        }
+        List<String> before = describe(store);
+        Statistics expected = new Statistics(store);
+
+        Path directory = Files.createTempDirectory("mapped-snapshot-test");
+        try {
+            Path file = directory.resolve("students.records");
+            StudentRecordsFile.write(file, snapshot);
+            check(store.reattach(StudentRecordsFile.open(file, courses), snapshot), "reattach refused its own snapshot");
+            check(store.heapRowCount() == 70, "expected the 70 students changed or added since, held " + store.heapRowCount());
+            check(describe(store).equals(before), "list changed by reattaching");
+            check(new Statistics(store).equals(expected), "statistics changed by reattaching");
+            for (String line : before) {
+                String reg = line.substring(0, line.indexOf(' '));
+                check(store.find(reg.toLowerCase(Locale.ROOT)) != null, reg + " not found");
+                check(store.get(store.indexOf(reg)).getreg().equals(reg), reg + " at the wrong position");
+            }
+            check(!store.reattach(StudentRecordsFile.open(file, courses), new ArrayList<>(snapshot)),
+                    "reattached to a list that is not a snapshot of the store");
+
+            // Edits after reattaching go on as usual
+            store.remove(0);
+            store.add(new Student("After Reattach", "AFTER/1", "200 Level", "Physics"));
+            check(store.find("after/1") != null && store.size() == before.size(), "edit after reattach lost");
+        } finally {
+            deleteTree(directory);
+        }
+    }
+
+    // checkpoint() moves a manager's store onto the file it wrote, and a restart reads the same list
+    private static void checkpointReattaches() throws Exception {
+        Path directory = Files.createTempDirectory("mapped-checkpoint-test");
+        try {
+            StudentDataManager manager = new StudentDataManager(directory, true, 0, StudentDataManager.StorageMode.MAPPED);
+            StudentGenerator.populate(manager, 3, 1500);
+            manager.checkpoint();
+            for (int i = 0; i < 40; i++) {
+                Student student = manager.getStudentAt(i * 7);
+                student.addResult(new Result(manager.getCourses().get(0), 35 + i));
+                manager.updateStudent(student.getreg(), student);
+            }
+            manager.removeStudent(manager.getStudentAt(3).getreg());
+            manager.addStudent(new Student("Checkpoint Student", "CHK/1", "300 Level", "Chemistry"));
+            manager.sortByName(TaskProgress.NONE);
+            List<String> before = describe(manager.getStudents());
+            Map<String, Double> statistics = manager.calculateClassStatistics();
+
+            manager.checkpoint();
+            check(describe(manager.getStudents()).equals(before), "list changed by checkpoint");
+            check(close(manager.calculateClassStatistics(), statistics), "statistics changed by checkpoint");
+            check(manager.getTopPerformer().getCgpa() == statistics.get("highest"), "top performer changed by checkpoint");
+            try (DirectoryStream<Path> left = Files.newDirectoryStream(directory, "students.records.*")) {
+                check(!left.iterator().hasNext(), "temporary records file left behind");
+            }
+            manager.close();
+
+            manager = new StudentDataManager(directory, true, 0, StudentDataManager.StorageMode.MAPPED);
+            check(describe(manager.getStudents()).equals(before), "list changed by restart");
+            manager.close();
+        } finally {
+            deleteTree(directory);
+        }
+    }
+
+    private static class Statistics {
+        final double average;
+        final double highest;
+        final double lowest;
+        final String top;
+        final List<String> departments;
+
+        Statistics(StudentStore store) {
+            average = store.getAverage();
+            highest = store.getHighest();
+            lowest = store.getLowest();
+            top = store.getTopPerformer().getreg();
+            departments = store.getDepartments();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            Statistics that = (Statistics) other;
+            return Math.abs(average - that.average) < 1e-9 && highest == that.highest && lowest == that.lowest
+                    && top.equals(that.top) && departments.equals(that.departments);
+        }
+
+        @Override
+        public int hashCode() {
+            return top.hashCode();
+        }
+    }
+
+    private static List<String> describe(StudentStore store) {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < store.size(); i++) {
+            students.add(store.get(i));
+        }
+        return describe(students);
+    }
+
+    private static List<String> describe(List<Student> students) {
+        List<String> lines = new ArrayList<>();
+        for (Student student : students) {
+            lines.add(student.getreg() + " " + student.getName() + " " + student.getDepartment() + " "
+                    + student.getlevel() + " " + student.getResults().size() + " " + student.getCgpa());
+        }
+        return lines;
+    }
+
+    // The CGPA total is kept as a running sum, so the average may differ in the last bits
+    private static boolean close(Map<String, Double> actual, Map<String, Double> expected) {
+        if (!actual.keySet().equals(expected.keySet())) {
+            return false;
+        }
+        for (String key : expected.keySet()) {
+            if (Math.abs(actual.get(key) - expected.get(key)) > 1e-9) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    private static void deleteTree(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.capstone.core;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+// Typo matches for short query words, checked against every storage mode. A word of
+// three or four letters has too few trigrams for the object store's index to find its
+// matches by, so these are the cases most likely to differ between modes.
+//
+// Run with assertions enabled, after compiling src and test together:
+//   java -ea -cp test-out com.capstone.core.NameSearchTest
+public class NameSearchTest {
+    private static final String[][] STUDENTS = {
+        { "Ada Lovelace", "CS/2020/001" },
+        { "Test Student", "CS/2020/002" },
+        { "Chidi Obi", "CS/2020/003" },
+        { "Grace Hopper", "CS/2020/004" },
+        { "Alan Turing", "CS/2020/005" },
+    };
+
+    // Query, then the reg number it must find
+    private static final String[][] QUERIES = {
+        { "aza", "CS/2020/001" },           // one substitution
+        { "tset", "CS/2020/002" },          // adjacent swap
+        { "oki", "CS/2020/003" },           // one substitution
+        { "ob", "CS/2020/003" },            // prefix
+        { "obbi", "CS/2020/003" },          // one insertion
+        { "grace hoper", "CS/2020/004" },   // second word misspelt
+        { "turnig", "CS/2020/005" },        // adjacent swap
+    };
+
+    public static void main(String[] args) throws IOException {
+        for (StudentDataManager.StorageMode mode : StudentDataManager.StorageMode.values()) {
+            StudentDataManager manager = StudentDataManager.inMemory(new ArrayList<>(), mode);
+            addStudents(manager);
+            check(manager, mode + " in memory");
+            manager.close();
+        }
+
+        // Mapped rows read back from the records file rather than held on the heap
+        Path directory = Files.createTempDirectory("name-search-test");
+        try {
+            StudentDataManager manager = new StudentDataManager(directory, false, 0,
+                    StudentDataManager.StorageMode.MAPPED);
+            addStudents(manager);
+            manager.close();
+            manager = new StudentDataManager(directory, false, 0, StudentDataManager.StorageMode.MAPPED);
+            check(manager, "MAPPED from file");
+            manager.close();
+        } finally {
+            deleteTree(directory);
+        }
+        System.out.println("NameSearchTest passed");
+    }
+
+    private static void addStudents(StudentDataManager manager) {
+        for (String[] student : STUDENTS) {
+            try {
+                manager.addStudent(new Student(student[0], student[1], "100 Level", "Computer Science"));
+            } catch (StudentManagementException e) {
+                throw new AssertionError(e);
+            }
+        }
+        // Names that match none of the queries, so the index has a vocabulary to search
+        for (int i = 0; i < 200; i++) {
+            try {
+                manager.addStudent(new Student("Filler" + i + " Person" + i, "FL/2020/" + i, "200 Level", "Physics"));
+            } catch (StudentManagementException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private static void check(StudentDataManager manager, String label) {
+        for (String[] query : QUERIES) {
+            List<String> found = new ArrayList<>();
+            for (Student student : manager.searchByName(query[0], 10)) {
+                found.add(student.getreg());
+            }
+            if (!found.contains(query[1])) {
+                throw new AssertionError(label + ": \"" + query[0] + "\" should find " + query[1] + ", found " + found);
+            }
+        }
+    }
+
+    private static void deleteTree(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
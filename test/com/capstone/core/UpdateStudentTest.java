@@ -0,0 +1,64 @@
+package com.capstone.core;
+
+import java.util.*;
+
+// updateStudent with a changed reg number, checked against every storage mode. A reg
+// that belongs to another student is refused and leaves both students as they were;
+// a new reg, or the same one in a different case, is taken.
+//
+// Run with assertions enabled, after compiling src and test together:
+//   java -ea -cp test-out com.capstone.core.UpdateStudentTest
+public class UpdateStudentTest {
+    public static void main(String[] args) throws Exception {
+        for (StudentDataManager.StorageMode mode : StudentDataManager.StorageMode.values()) {
+            StudentDataManager manager = StudentDataManager.inMemory(new ArrayList<>(), mode);
+            regTakenByAnotherStudent(manager, mode.toString());
+            manager.close();
+
+            manager = StudentDataManager.inMemory(new ArrayList<>(), mode);
+            regChanged(manager, mode.toString());
+            manager.close();
+        }
+        System.out.println("UpdateStudentTest passed");
+    }
+
+    private static void regTakenByAnotherStudent(StudentDataManager manager, String label) throws Exception {
+        manager.addStudent(new Student("Ada Lovelace", "R1", "100 Level", "Computer Science"));
+        manager.addStudent(new Student("Alan Turing", "R2", "100 Level", "Computer Science"));
+
+        try {
+            manager.updateStudent("R1", new Student("Ada Lovelace", "r2", "200 Level", "Computer Science"));
+            throw new AssertionError(label + ": update onto another student's reg should be refused");
+        } catch (StudentManagementException expected) {
+            // R1 and R2 are both unchanged
+        }
+        check(manager.findStudentById("R1") != null, label + ": R1 should still be found");
+        check("100 Level".equals(manager.findStudentById("R1").getlevel()), label + ": R1 should be unchanged");
+        check("Alan Turing".equals(manager.findStudentById("R2").getName()), label + ": R2 should be unchanged");
+
+        // The review's case: removing R2 afterwards must not leave a second R2 behind
+        check(manager.removeStudent("R2"), label + ": R2 should be removed");
+        check(manager.findStudentById("R2") == null, label + ": R2 should be gone");
+        check(manager.getStudents().size() == 1, label + ": only R1 should be left");
+        check("R1".equals(manager.getStudents().get(0).getreg()), label + ": R1 should be left");
+    }
+
+    private static void regChanged(StudentDataManager manager, String label) throws Exception {
+        manager.addStudent(new Student("Ada Lovelace", "R1", "100 Level", "Computer Science"));
+        manager.addStudent(new Student("Alan Turing", "R2", "100 Level", "Computer Science"));
+
+        manager.updateStudent("R1", new Student("Ada Lovelace", "r1", "200 Level", "Computer Science"));
+        check("200 Level".equals(manager.findStudentById("R1").getlevel()), label + ": case-only change should be taken");
+
+        manager.updateStudent("R1", new Student("Ada Lovelace", "R3", "200 Level", "Computer Science"));
+        check(manager.findStudentById("R1") == null, label + ": old reg should be gone");
+        check(manager.findStudentById("R3") != null, label + ": new reg should be found");
+        check(manager.getStudents().size() == 2, label + ": still two students");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}